@@ -0,0 +1,107 @@
+package com.infamous.dungeons_world.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link OpenSimplex2FBatch#noise2Batch(double[], double[], double[])} against a loop over {@link OpenSimplex2F#noise2(double, double)}.
+ *
+ * Samples are laid out like the surface noise of the mod, a 16x16 chunk or a 512 block row of a region at the default frequency.
+ * The trial setup fails the run when the two differ by more than {@link OpenSimplex2FBatch#PARITY_TOLERANCE}, so a throughput gain is never reported for wrong noise.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OpenSimplex2FBatchBenchmark {
+    private static final double FREQUENCY = 0.015D;
+    private static final long SEED = 8675309L;
+
+    @Param({"256", "512"})
+    public int samples;
+
+    private OpenSimplex2F scalar;
+    private OpenSimplex2FBatch batch;
+    private double[] xs;
+    private double[] zs;
+    private double[] out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.scalar = new OpenSimplex2F(SEED);
+        this.batch = new OpenSimplex2FBatch(SEED);
+        this.xs = new double[this.samples];
+        this.zs = new double[this.samples];
+        this.out = new double[this.samples];
+        int width = this.samples == 256 ? 16 : this.samples;
+        for (int i = 0; i < this.samples; i++) {
+            this.xs[i] = (1_000_000 + i % width) * FREQUENCY;
+            this.zs[i] = (-250_000 + i / width) * FREQUENCY;
+        }
+        checkParity();
+    }
+
+    @Benchmark
+    public double[] scalarNoise2() {
+        for (int i = 0; i < this.samples; i++) {
+            this.out[i] = this.scalar.noise2(this.xs[i], this.zs[i]);
+        }
+        return this.out;
+    }
+
+    @Benchmark
+    public double[] batchNoise2() {
+        this.batch.noise2Batch(this.xs, this.zs, this.out);
+        return this.out;
+    }
+
+    @Benchmark
+    public void batchScalarNoise2(Blackhole blackhole) {
+        for (int i = 0; i < this.samples; i++) {
+            blackhole.consume(this.batch.noise2(this.xs[i], this.zs[i]));
+        }
+    }
+
+    /**
+     * Compares both variants over random coordinates spread across a world, for a few seeds including negative ones.
+     */
+    private static void checkParity() {
+        Random random = new Random(42L);
+        int count = 65536;
+        double[] xs = new double[count];
+        double[] zs = new double[count];
+        double[] out = new double[count];
+        for (long seed : new long[]{0L, SEED, -123456789L}) {
+            OpenSimplex2F scalar = new OpenSimplex2F(seed);
+            OpenSimplex2FBatch batch = new OpenSimplex2FBatch(seed);
+            for (int i = 0; i < count; i++) {
+                xs[i] = (random.nextDouble() - 0.5D) * 6.0E7D * FREQUENCY;
+                zs[i] = (random.nextDouble() - 0.5D) * 6.0E7D * FREQUENCY;
+            }
+            batch.noise2Batch(xs, zs, out);
+            for (int i = 0; i < count; i++) {
+                double expected = scalar.noise2(xs[i], zs[i]);
+                if (Math.abs(out[i] - expected) > OpenSimplex2FBatch.PARITY_TOLERANCE || Math.abs(batch.noise2(xs[i], zs[i]) - expected) > OpenSimplex2FBatch.PARITY_TOLERANCE) {
+                    throw new IllegalStateException("OpenSimplex2FBatch differs from OpenSimplex2F at " + xs[i] + ", " + zs[i] + " for seed " + seed
+                            + ": " + out[i] + " instead of " + expected);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.infamous.dungeons_world.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of every OpenSimplex2F evaluator worldgen could use, see {@link OpenSimplex2FConstructionBenchmark} for building a generator.
+ *
+ * Each sampling benchmark fills one chunk worth of samples: the 16x16 columns for 2D,
+ * the 16x16 columns times 16 vertical steps of 8 blocks for 3D, and the same cells at 4 time steps for 4D.
+ * Frequencies cover the Creeper Woods surface noise and a finer detail noise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OpenSimplex2FBenchmark {
+    private static final int CHUNK_ORIGIN_X = 1_000_000;
+    private static final int CHUNK_ORIGIN_Z = -250_000;
+
+    @Param({"0.015", "0.08"})
+    public double frequency;
+
+    private OpenSimplex2F noise;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.noise = new OpenSimplex2F(8675309L);
+    }
+
+    @Benchmark
+    public double noise2() {
+        double sum = 0.0D;
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                sum += this.noise.noise2((CHUNK_ORIGIN_X + x) * this.frequency, (CHUNK_ORIGIN_Z + z) * this.frequency);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double noise3_Classic() {
+        double sum = 0.0D;
+        for (int y = 0; y < 256; y += 16) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    sum += this.noise.noise3_Classic((CHUNK_ORIGIN_X + x) * this.frequency, y * this.frequency, (CHUNK_ORIGIN_Z + z) * this.frequency);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double noise3_XZBeforeY() {
+        double sum = 0.0D;
+        for (int y = 0; y < 256; y += 16) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    sum += this.noise.noise3_XZBeforeY((CHUNK_ORIGIN_X + x) * this.frequency, y * this.frequency, (CHUNK_ORIGIN_Z + z) * this.frequency);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double noise4_Classic() {
+        double sum = 0.0D;
+        for (int w = 0; w < 4; w++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    sum += this.noise.noise4_Classic((CHUNK_ORIGIN_X + x) * this.frequency, 64 * this.frequency, (CHUNK_ORIGIN_Z + z) * this.frequency, w * this.frequency);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double noise4_XYBeforeZW() {
+        double sum = 0.0D;
+        for (int w = 0; w < 4; w++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    sum += this.noise.noise4_XYBeforeZW((CHUNK_ORIGIN_X + x) * this.frequency, 64 * this.frequency, (CHUNK_ORIGIN_Z + z) * this.frequency, w * this.frequency);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double noise4_XZBeforeYW() {
+        double sum = 0.0D;
+        for (int w = 0; w < 4; w++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    sum += this.noise.noise4_XZBeforeYW((CHUNK_ORIGIN_X + x) * this.frequency, 64 * this.frequency, (CHUNK_ORIGIN_Z + z) * this.frequency, w * this.frequency);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double noise4_XYZBeforeW() {
+        double sum = 0.0D;
+        for (int w = 0; w < 4; w++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    sum += this.noise.noise4_XYZBeforeW((CHUNK_ORIGIN_X + x) * this.frequency, 64 * this.frequency, (CHUNK_ORIGIN_Z + z) * this.frequency, w * this.frequency);
+                }
+            }
+        }
+        return sum;
+    }
+}
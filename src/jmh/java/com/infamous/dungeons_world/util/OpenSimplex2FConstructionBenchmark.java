@@ -0,0 +1,38 @@
+package com.infamous.dungeons_world.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the permutation and gradient tables of an OpenSimplex2F, what every generator rebuilt on a seed change pays.
+ * The seed changes every call so nothing can be folded away, and so {@link #forSeed()} measures a cache miss,
+ * which only builds the 2D tables.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OpenSimplex2FConstructionBenchmark {
+    private long nextSeed;
+
+    @Benchmark
+    public OpenSimplex2F construct() {
+        return new OpenSimplex2F(this.nextSeed++);
+    }
+
+    @Benchmark
+    public OpenSimplex2F forSeed() {
+        return OpenSimplex2F.forSeed(this.nextSeed++);
+    }
+}
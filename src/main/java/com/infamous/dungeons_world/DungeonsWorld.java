@@ -3,6 +3,7 @@ package com.infamous.dungeons_world;
 import com.infamous.dungeons_world.biomes.ModBiomes;
 import com.infamous.dungeons_world.blocks.ModBlocks;
 import com.infamous.dungeons_world.client.renderer.tileentity.DungeonsChestTileEntityRenderer;
+import com.infamous.dungeons_world.config.DungeonsWorldConfig;
 import com.infamous.dungeons_world.entity.ModEntityTypes;
 import com.infamous.dungeons_world.items.ModItems;
 import com.infamous.dungeons_world.particles.ModParticleTypes;
@@ -32,9 +33,11 @@ import net.minecraftforge.event.world.BiomeLoadingEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.client.registry.ClientRegistry;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.ObfuscationReflectionHelper;
+import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
@@ -52,6 +55,8 @@ public class DungeonsWorld {
 
     public DungeonsWorld() {
 
+        ModLoadingContext.get().registerConfig(ModConfig.Type.SERVER, DungeonsWorldConfig.SERVER_SPEC);
+
         final IEventBus modEventBus = FMLJavaModLoadingContext.get().getModEventBus();
 
         modEventBus.addListener(this::setup);
@@ -0,0 +1,50 @@
+package com.infamous.dungeons_world.command;
+
+import com.infamous.dungeons_world.DungeonsWorld;
+import com.infamous.dungeons_world.structures.DungeonsJigsawStructure;
+import com.infamous.dungeons_world.structures.ModStructures;
+import com.infamous.dungeons_world.structures.StructureLocator;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.ISuggestionProvider;
+import net.minecraft.command.impl.LocateCommand;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraft.util.text.TranslationTextComponent;
+import net.minecraft.world.gen.feature.structure.Structure;
+import net.minecraftforge.fml.RegistryObject;
+
+/**
+ * /locate for Dungeons World structures, answered by the {@link StructureLocator} so the server keeps ticking while it searches.
+ */
+public class LocateStructureCommand {
+    public static final SuggestionProvider<CommandSource> SUGGEST_STRUCTURES = (context, builder) -> ISuggestionProvider.suggestResource(
+            ModStructures.STRUCTURES.getEntries().stream().map(RegistryObject::getId), builder);
+
+    public static int locate(CommandSource source, ResourceLocation name) {
+        Structure<?> structure = ModStructures.STRUCTURES.getEntries().stream()
+                .filter(entry -> entry.getId().equals(name))
+                .map(RegistryObject::get)
+                .findFirst()
+                .orElse(null);
+        if (!(structure instanceof DungeonsJigsawStructure)) {
+            source.sendFailure(new StringTextComponent("Unknown Dungeons World structure " + name));
+            return 0;
+        }
+
+        BlockPos origin = new BlockPos(source.getPosition());
+        StructureLocator.locate(source.getLevel(), (DungeonsJigsawStructure) structure, origin, StructureLocator.DEFAULT_RADIUS).whenComplete((found, error) ->
+                source.getServer().execute(() -> {
+                    if (error != null) {
+                        DungeonsWorld.LOGGER.error("Failed to locate {}", name, error);
+                        source.sendFailure(new StringTextComponent("Locating " + name + " failed: " + error.getMessage()));
+                    } else if (found.isPresent()) {
+                        LocateCommand.showLocateResult(source, name.toString(), origin, found.get(), "commands.locate.success");
+                    } else {
+                        source.sendFailure(new TranslationTextComponent("commands.locate.failed"));
+                    }
+                }));
+        return 1;
+    }
+}
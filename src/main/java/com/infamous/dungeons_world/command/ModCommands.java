@@ -0,0 +1,36 @@
+package com.infamous.dungeons_world.command;
+
+import com.infamous.dungeons_world.DungeonsWorld;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import net.minecraft.command.Commands;
+import net.minecraft.command.arguments.ResourceLocationArgument;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+@Mod.EventBusSubscriber(modid = DungeonsWorld.MODID)
+public class ModCommands {
+
+    @SubscribeEvent
+    public static void onRegisterCommands(RegisterCommandsEvent event){
+        event.getDispatcher().register(Commands.literal("dungeonsworld")
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("benchmark")
+                        .then(Commands.literal("terrain")
+                                .executes(context -> TerrainBenchmark.start(context.getSource(), TerrainBenchmark.DEFAULT_CHUNKS))
+                                .then(Commands.argument("chunks", IntegerArgumentType.integer(16, 16384))
+                                        .executes(context -> TerrainBenchmark.start(context.getSource(), IntegerArgumentType.getInteger(context, "chunks")))))
+                        .then(Commands.literal("surface")
+                                .executes(context -> TerrainBenchmark.startSurface(context.getSource(), TerrainBenchmark.DEFAULT_CHUNKS))
+                                .then(Commands.argument("chunks", IntegerArgumentType.integer(16, 16384))
+                                        .executes(context -> TerrainBenchmark.startSurface(context.getSource(), IntegerArgumentType.getInteger(context, "chunks"))))))
+                .then(Commands.literal("profile")
+                        .executes(context -> ProfileCommand.report(context.getSource()))
+                        .then(Commands.literal("reset")
+                                .executes(context -> ProfileCommand.reset(context.getSource()))))
+                .then(Commands.literal("locate")
+                        .then(Commands.argument("structure", ResourceLocationArgument.id())
+                                .suggests(LocateStructureCommand.SUGGEST_STRUCTURES)
+                                .executes(context -> LocateStructureCommand.locate(context.getSource(), ResourceLocationArgument.getId(context, "structure"))))));
+    }
+}
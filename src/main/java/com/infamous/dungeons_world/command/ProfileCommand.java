@@ -0,0 +1,25 @@
+package com.infamous.dungeons_world.command;
+
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
+import net.minecraft.command.CommandSource;
+import net.minecraft.util.text.StringTextComponent;
+
+public class ProfileCommand {
+
+    public static int report(CommandSource source) {
+        if (!WorldgenProfiler.isEnabled()) {
+            source.sendFailure(new StringTextComponent("Worldgen profiling is off, turn on profiling.enabled in the Dungeons World server config first"));
+            return 0;
+        }
+        for (String line : WorldgenProfiler.report()) {
+            source.sendSuccess(new StringTextComponent(line), false);
+        }
+        return 1;
+    }
+
+    public static int reset(CommandSource source) {
+        WorldgenProfiler.reset();
+        source.sendSuccess(new StringTextComponent("Worldgen profile reset"), true);
+        return 1;
+    }
+}
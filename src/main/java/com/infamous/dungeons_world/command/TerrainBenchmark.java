@@ -0,0 +1,202 @@
+package com.infamous.dungeons_world.command;
+
+import com.infamous.dungeons_world.DungeonsWorld;
+import com.infamous.dungeons_world.world.gen.noise.TerrainNoiseContext;
+import com.infamous.dungeons_world.world.gen.noise.TerrainShaping;
+import com.infamous.dungeons_world.world.surfacebuilder.CreeperWoodsSurfaceBuilder;
+import com.infamous.dungeons_world.world.surfacebuilder.SurfaceColumnWriter;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.command.CommandSource;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.ChunkStatus;
+import net.minecraft.world.chunk.UpgradeData;
+import net.minecraft.world.gen.ChunkGenerator;
+import net.minecraft.world.gen.Heightmap;
+import net.minecraft.world.gen.NoiseChunkGenerator;
+import net.minecraft.world.gen.WorldGenRegion;
+import net.minecraft.world.gen.surfacebuilders.SurfaceBuilder;
+import net.minecraft.world.gen.surfacebuilders.SurfaceBuilderConfig;
+import net.minecraft.world.server.ServerWorld;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Measures what Creeper Woods terrain shaping and surface building cost on this server.
+ *
+ * Chunks around the command source are generated up to the noise stage into throwaway ChunkPrimers,
+ * once with terrain shaping off and once with it on, or have their surface built both ways. Nothing is written to the world,
+ * and the world's own chunk generation keeps following the config while the benchmark runs.
+ */
+public class TerrainBenchmark {
+    public static final int DEFAULT_CHUNKS = 256;
+
+    private static final int WARMUP_CHUNKS = 64;
+    private static final AtomicBoolean RUNNING = new AtomicBoolean();
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Dungeons World Benchmark");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static int start(CommandSource source, int chunks) {
+        ServerWorld world = source.getLevel();
+        ChunkGenerator generator = world.getChunkSource().getGenerator();
+        ChunkPos[] positions = positionsAround(new ChunkPos(new BlockPos(source.getPosition())), chunks);
+        return submit(source, generator, "Benchmarking terrain generation of " + chunks + " chunks, with and without Creeper Woods terrain shaping...", () -> {
+            generate(world, generator, positions, Math.min(WARMUP_CHUNKS, positions.length), false);
+            generate(world, generator, positions, Math.min(WARMUP_CHUNKS, positions.length), true);
+            double off = chunksPerSecond(positions.length, generate(world, generator, positions, positions.length, false));
+            double on = chunksPerSecond(positions.length, generate(world, generator, positions, positions.length, true));
+            return String.format("Creeper Woods terrain shaping off: %.1f chunks/s, on: %.1f chunks/s (%+.1f%%)",
+                    off, on, (on - off) / off * 100.0D);
+        });
+    }
+
+    /**
+     * Builds the surface of every column of the chunks as Creeper Woods, once block by block down to y=0
+     * and once writing only the band the builder changes, and compares blocks written, time spent and bytes allocated.
+     */
+    public static int startSurface(CommandSource source, int chunks) {
+        ServerWorld world = source.getLevel();
+        ChunkGenerator generator = world.getChunkSource().getGenerator();
+        ChunkPos[] positions = positionsAround(new ChunkPos(new BlockPos(source.getPosition())), chunks);
+        return submit(source, generator, "Benchmarking the Creeper Woods surface builder on " + chunks + " chunks, building every column as Creeper Woods...", () -> {
+            CreeperWoodsSurfaceBuilder builder = new CreeperWoodsSurfaceBuilder(SurfaceBuilderConfig.CODEC);
+            long[] perBlock = new long[3];
+            long[] surfaceBand = new long[3];
+            for (int i = 0; i < Math.min(WARMUP_CHUNKS, positions.length); i++) {
+                buildSurface(world, generator, builder, positions[i], false, new long[3]);
+                buildSurface(world, generator, builder, positions[i], true, new long[3]);
+            }
+            for (ChunkPos pos : positions) {
+                buildSurface(world, generator, builder, pos, false, perBlock);
+                buildSurface(world, generator, builder, pos, true, surfaceBand);
+            }
+            double columns = positions.length * 256.0D;
+            return String.format("Creeper Woods surface block by block: %.1f chunks/s, %.1f blocks written and %s bytes allocated per column; surface band only: %.1f chunks/s, %.1f blocks written and %s bytes allocated per column",
+                    chunksPerSecond(positions.length, perBlock[0]), perBlock[1] / columns, bytesPerColumn(perBlock[2], columns),
+                    chunksPerSecond(positions.length, surfaceBand[0]), surfaceBand[1] / columns, bytesPerColumn(surfaceBand[2], columns));
+        });
+    }
+
+    private static int submit(CommandSource source, ChunkGenerator generator, String description, Supplier<String> benchmark) {
+        if (!(generator instanceof NoiseChunkGenerator)) {
+            source.sendFailure(new StringTextComponent("Terrain benchmark needs a noise based dimension, " + source.getLevel().dimension().location() + " is not one"));
+            return 0;
+        }
+        if (!RUNNING.compareAndSet(false, true)) {
+            source.sendFailure(new StringTextComponent("A terrain benchmark is already running"));
+            return 0;
+        }
+
+        source.sendSuccess(new StringTextComponent(description), true);
+        CompletableFuture.supplyAsync(benchmark, EXECUTOR).whenComplete((result, error) -> {
+            RUNNING.set(false);
+            source.getServer().execute(() -> {
+                if (error != null) {
+                    DungeonsWorld.LOGGER.error("Terrain benchmark failed", error);
+                    source.sendFailure(new StringTextComponent("Terrain benchmark failed: " + error.getMessage()));
+                    return;
+                }
+                source.sendSuccess(new StringTextComponent(result), true);
+            });
+        });
+        return 1;
+    }
+
+    private static long generate(ServerWorld world, ChunkGenerator generator, ChunkPos[] positions, int count, boolean terrainShaping) {
+        return TerrainShaping.runWith(terrainShaping, () -> {
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                generateNoise(world, generator, positions[i]);
+            }
+            return System.nanoTime() - start;
+        });
+    }
+
+    /**
+     * Runs the same steps as ChunkStatus.BIOMES and ChunkStatus.NOISE, plus the height probe structures use in isFeatureChunk.
+     */
+    private static ChunkPrimer generateNoise(ServerWorld world, ChunkGenerator generator, ChunkPos pos) {
+        ChunkPrimer primer = new ChunkPrimer(pos, UpgradeData.EMPTY);
+        generator.createBiomes(world.registryAccess().registryOrThrow(Registry.BIOME_REGISTRY), primer);
+        primer.setStatus(ChunkStatus.BIOMES);
+        WorldGenRegion region = new WorldGenRegion(world, Collections.singletonList(primer));
+        generator.fillFromNoise(region, world.structureFeatureManager().forWorldGenRegion(region), primer);
+        generator.getFirstOccupiedHeight(pos.getMinBlockX() + 7, pos.getMinBlockZ() + 7, Heightmap.Type.WORLD_SURFACE_WG);
+        return primer;
+    }
+
+    /**
+     * Adds the time spent, blocks written and bytes allocated building the surface of one freshly generated chunk to result[0], result[1] and result[2].
+     * Only the surface building is measured, not the noise generation before it.
+     */
+    private static void buildSurface(ServerWorld world, ChunkGenerator generator, CreeperWoodsSurfaceBuilder builder, ChunkPos pos, boolean surfaceBand, long[] result) {
+        ChunkPrimer primer = generateNoise(world, generator, pos);
+        TerrainNoiseContext context = TerrainNoiseContext.forSeed(world.getSeed());
+        // Overworld filler, the same block the noise stage placed, which is what lets the surface band skip it.
+        BlockState defaultBlock = Blocks.STONE.defaultBlockState();
+        long writes = 0L;
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                int blockX = pos.getMinBlockX() + x;
+                int blockZ = pos.getMinBlockZ() + z;
+                int startHeight = primer.getHeight(Heightmap.Type.WORLD_SURFACE_WG, x, z) + 1;
+                boolean highGround = context.isHighGround(blockX, blockZ);
+                SurfaceColumnWriter writer = surfaceBand ? SurfaceColumnWriter.begin(primer, blockX, blockZ) : null;
+                writes += writer != null
+                        ? builder.applySurfaceBand(writer, startHeight, highGround, defaultBlock, SurfaceBuilder.CONFIG_GRASS)
+                        : builder.applyPerBlock(primer, blockX, blockZ, startHeight, highGround, defaultBlock, SurfaceBuilder.CONFIG_GRASS);
+            }
+        }
+        result[0] += System.nanoTime() - start;
+        result[1] += writes;
+        long allocatedAfter = allocatedBytes();
+        result[2] = allocatedBefore < 0L || result[2] < 0L ? -1L : result[2] + allocatedAfter - allocatedBefore;
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, or -1 when the JVM cannot tell.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+            if (allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled()) {
+                return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1L;
+    }
+
+    private static String bytesPerColumn(long bytes, double columns) {
+        return bytes < 0L ? "unknown" : String.format("%.1f", bytes / columns);
+    }
+
+    private static ChunkPos[] positionsAround(ChunkPos center, int count) {
+        int side = (int) Math.ceil(Math.sqrt(count));
+        ChunkPos[] positions = new ChunkPos[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = new ChunkPos(center.x - side / 2 + i % side, center.z - side / 2 + i / side);
+        }
+        return positions;
+    }
+
+    private static double chunksPerSecond(int chunks, long nanos) {
+        return chunks / (nanos / 1.0E9D);
+    }
+}
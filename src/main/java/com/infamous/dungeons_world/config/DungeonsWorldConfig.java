@@ -0,0 +1,122 @@
+package com.infamous.dungeons_world.config;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonElement;
+import com.infamous.dungeons_world.DungeonsWorld;
+import com.infamous.dungeons_world.structures.StructureLocator;
+import com.infamous.dungeons_world.world.gen.noise.ColumnProbe;
+import com.infamous.dungeons_world.world.gen.noise.RegionNoiseService;
+import com.infamous.dungeons_world.world.gen.noise.TerrainNoiseContext;
+import com.infamous.dungeons_world.world.gen.noise.TerrainSettings;
+import com.infamous.dungeons_world.world.gen.noise.TerrainShaping;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
+import com.mojang.serialization.JsonOps;
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.List;
+
+@Mod.EventBusSubscriber(modid = DungeonsWorld.MODID, bus = Mod.EventBusSubscriber.Bus.MOD)
+public class DungeonsWorldConfig {
+    public static final ForgeConfigSpec SERVER_SPEC;
+    public static final Server SERVER;
+
+    static {
+        Pair<Server, ForgeConfigSpec> serverPair = new ForgeConfigSpec.Builder().configure(Server::new);
+        SERVER = serverPair.getLeft();
+        SERVER_SPEC = serverPair.getRight();
+    }
+
+    public static class Server {
+        public final ForgeConfigSpec.BooleanValue creeperWoodsTerrainShaping;
+        public final ForgeConfigSpec.IntValue regionNoiseCacheMegabytes;
+        public final ForgeConfigSpec.DoubleValue creeperWoodsNoiseFrequency;
+        public final ForgeConfigSpec.DoubleValue creeperWoodsHighGroundThreshold;
+        public final ForgeConfigSpec.ConfigValue<List<? extends Double>> creeperWoodsPathBands;
+        public final ForgeConfigSpec.BooleanValue creeperWoodsPathNetwork;
+        public final ForgeConfigSpec.ConfigValue<List<? extends Double>> creeperWoodsPathWidths;
+        public final ForgeConfigSpec.BooleanValue profilingEnabled;
+        public final ForgeConfigSpec.IntValue profilingLogIntervalSeconds;
+
+        public Server(ForgeConfigSpec.Builder builder) {
+            builder.comment("World generation settings").push("worldgen");
+            this.creeperWoodsTerrainShaping = builder
+                    .comment("Raises and lowers the terrain of Creeper Woods into high ground and low ground during noise generation.",
+                            "This hooks into vanilla chunk generation and has a cost, run \"/dungeonsworld benchmark terrain\" to measure it on your server.")
+                    .define("creeperWoodsTerrainShaping", false);
+            this.regionNoiseCacheMegabytes = builder
+                    .comment("Memory in megabytes for Creeper Woods surface noise precomputed in the background, one region of 32x32 chunks takes 0.5 MB.",
+                            "Creeper Woods path networks take up to half of it at 0.25 MB per region, and a few regions per world are always kept.",
+                            "Meant for pregenerating, above 0 it starts low priority worker threads, one per four CPU cores.",
+                            "Left at 0 the noise is sampled on the chunk generation threads instead.")
+                    .defineInRange("regionNoiseCacheMegabytes", 0, 0, 4096);
+
+            builder.comment("Shape of the Creeper Woods surface noise, changes only apply to chunks generated afterwards").push("creeperWoods");
+            this.creeperWoodsNoiseFrequency = builder
+                    .comment("How stretched the noise is, smaller values give larger areas of high ground and longer paths.")
+                    .defineInRange("noiseFrequency", TerrainSettings.DEFAULT.getFrequency(), 1.0E-4D, 1.0D);
+            this.creeperWoodsHighGroundThreshold = builder
+                    .comment("Noise magnitude from which the ground is high ground, larger values give less high ground.")
+                    .defineInRange("highGroundThreshold", TerrainSettings.DEFAULT.getHighGroundThreshold(), 0.0D, 1.0D);
+            this.creeperWoodsPathBands = builder
+                    .comment("Noise magnitudes below which the surface is dirt path, grassy dirt and dirty grass, from the middle of a path outwards.")
+                    .defineList("pathBands", TerrainSettings.DEFAULT.getPathBands(), value -> value instanceof Double && (Double) value >= 0.0D && (Double) value <= 1.0D);
+            this.creeperWoodsPathNetwork = builder
+                    .comment("Lays connected paths along the valleys of the noise instead of following the path bands, which can leave paths that lead nowhere.",
+                            "The network of a region of 32x32 chunks is computed once on the region noise worker threads, which this starts even when regionNoiseCacheMegabytes is 0.",
+                            "Chunks generated before the network of their region is ready keep the path bands.")
+                    .define("pathNetwork", TerrainSettings.DEFAULT.isPathNetwork());
+            this.creeperWoodsPathWidths = builder
+                    .comment("With pathNetwork on, the distance in blocks from the middle of a path up to which the surface is dirt path, grassy dirt and dirty grass.")
+                    .defineList("pathWidths", TerrainSettings.DEFAULT.getPathWidths(), value -> value instanceof Double && (Double) value >= 0.0D && (Double) value <= TerrainSettings.MAX_PATH_WIDTH);
+            builder.pop();
+            builder.pop();
+
+            builder.comment("Timing of the world generation code added by Dungeons World").push("profiling");
+            this.profilingEnabled = builder
+                    .comment("Times the terrain callbacks, surface builders, structure processors, features and structure placement checks.",
+                            "Run \"/dungeonsworld profile\" to see the results. Reading the clock has a small cost, so leave this off outside of investigations.")
+                    .define("enabled", false);
+            this.profilingLogIntervalSeconds = builder
+                    .comment("How often the profile is written to the log while profiling is enabled, 0 to only report it through the command.")
+                    .defineInRange("logIntervalSeconds", 300, 0, 86400);
+            builder.pop();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLoad(ModConfig.Loading event) {
+        bake(event.getConfig());
+    }
+
+    @SubscribeEvent
+    public static void onReload(ModConfig.Reloading event) {
+        bake(event.getConfig());
+    }
+
+    private static void bake(ModConfig config) {
+        if (config.getSpec() == SERVER_SPEC) {
+            boolean shaping = SERVER.creeperWoodsTerrainShaping.get();
+            boolean terrainChanged = shaping != TerrainShaping.isEnabled();
+            TerrainShaping.setEnabled(shaping);
+            RegionNoiseService.setMemoryBudget(SERVER.regionNoiseCacheMegabytes.get());
+            WorldgenProfiler.setEnabled(SERVER.profilingEnabled.get());
+            WorldgenProfiler.setLogInterval(SERVER.profilingLogIntervalSeconds.get());
+            TerrainSettings settings = new TerrainSettings(SERVER.creeperWoodsNoiseFrequency.get(), SERVER.creeperWoodsHighGroundThreshold.get(), ImmutableList.copyOf(SERVER.creeperWoodsPathBands.get()),
+                    SERVER.creeperWoodsPathNetwork.get(), ImmutableList.copyOf(SERVER.creeperWoodsPathWidths.get()));
+            if (!settings.equals(TerrainNoiseContext.getSettings())) {
+                DungeonsWorld.LOGGER.info("Using Creeper Woods terrain settings {}", TerrainSettings.CODEC.encodeStart(JsonOps.INSTANCE, settings).result().map(JsonElement::toString).orElse(settings.toString()));
+                TerrainNoiseContext.setSettings(settings);
+                terrainChanged = true;
+            }
+            if (terrainChanged) {
+                // Placement checks probe the terrain, so predicted structure starts made with the old one no longer hold.
+                ColumnProbe.clearChunkCenters();
+                StructureLocator.clearRegions();
+            }
+        }
+    }
+}
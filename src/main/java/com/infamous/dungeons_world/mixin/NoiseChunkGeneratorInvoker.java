@@ -0,0 +1,15 @@
+package com.infamous.dungeons_world.mixin;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.world.gen.NoiseChunkGenerator;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+import javax.annotation.Nullable;
+import java.util.function.Predicate;
+
+@Mixin(NoiseChunkGenerator.class)
+public interface NoiseChunkGeneratorInvoker {
+    @Invoker("iterateNoiseColumn")
+    int dungeons_world_iterateNoiseColumn(int x, int z, @Nullable BlockState[] states, @Nullable Predicate<BlockState> predicate);
+}
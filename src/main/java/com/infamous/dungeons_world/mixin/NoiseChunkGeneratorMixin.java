@@ -1,19 +1,22 @@
 package com.infamous.dungeons_world.mixin;
 
 import com.infamous.dungeons_world.mixincallbacks.NoiseChunkGeneratorMixinCallback;
+import com.infamous.dungeons_world.world.surfacebuilder.SurfaceRegion;
 import net.minecraft.block.BlockState;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.IWorld;
 import net.minecraft.world.biome.provider.BiomeProvider;
 import net.minecraft.world.chunk.IChunk;
 import net.minecraft.world.gen.ChunkGenerator;
 import net.minecraft.world.gen.NoiseChunkGenerator;
+import net.minecraft.world.gen.WorldGenRegion;
 import net.minecraft.world.gen.feature.structure.StructureManager;
 import net.minecraft.world.gen.settings.DimensionStructuresSettings;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
-import org.spongepowered.asm.mixin.injection.ModifyVariable;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
@@ -24,6 +27,18 @@ public abstract class NoiseChunkGeneratorMixin extends ChunkGenerator {
     @Shadow
     private long seed;
 
+    @Final
+    @Shadow
+    private int chunkHeight;
+
+    @Final
+    @Shadow
+    private int chunkWidth;
+
+    @Final
+    @Shadow
+    private int chunkCountY;
+
     @Final
     @Shadow
     protected BlockState defaultBlock;
@@ -35,6 +50,9 @@ public abstract class NoiseChunkGeneratorMixin extends ChunkGenerator {
     @Shadow
     public abstract int getSeaLevel();
 
+    @Shadow
+    protected abstract BlockState generateBaseState(double noise, int y);
+
     public NoiseChunkGeneratorMixin(BiomeProvider p_i231888_1_, DimensionStructuresSettings p_i231888_2_) {
         super(p_i231888_1_, p_i231888_2_);
     }
@@ -43,9 +61,31 @@ public abstract class NoiseChunkGeneratorMixin extends ChunkGenerator {
         super(p_i231887_1_, p_i231887_2_, p_i231887_3_, p_i231887_4_);
     }
 
-    /*@Redirect(method = "Lnet/minecraft/world/gen/NoiseChunkGenerator;fillFromNoise(Lnet/minecraft/world/IWorld;Lnet/minecraft/world/gen/feature/structure/StructureManager;Lnet/minecraft/world/chunk/IChunk;)V", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/NoiseChunkGenerator;generateBaseState(DI)Lnet/minecraft/block/BlockState;"))
-    public BlockState dungeons_world_fillFromNoise() {
-        //return NoiseChunkGeneratorMixinCallback.dungeons_world_afterGenerateBaseState(d18, i3, i2, l3, this.getSeaLevel(), this.seed, this.biomeSource, defaultBlock, defaultFluid);
-    }*/
+    @Inject(method = "Lnet/minecraft/world/gen/NoiseChunkGenerator;fillFromNoise(Lnet/minecraft/world/IWorld;Lnet/minecraft/world/gen/feature/structure/StructureManager;Lnet/minecraft/world/chunk/IChunk;)V", at = @At("HEAD"))
+    public void dungeons_world_beginFillFromNoise(IWorld world, StructureManager structureManager, IChunk chunk, CallbackInfo ci) {
+        ChunkPos chunkPos = chunk.getPos();
+        NoiseChunkGeneratorMixinCallback.dungeons_world_beginFillFromNoise(chunkPos.x, chunkPos.z, this.getSeaLevel(), this.seed, this, this.chunkWidth, this.chunkHeight * this.chunkCountY);
+    }
+
+    @Inject(method = "Lnet/minecraft/world/gen/NoiseChunkGenerator;fillFromNoise(Lnet/minecraft/world/IWorld;Lnet/minecraft/world/gen/feature/structure/StructureManager;Lnet/minecraft/world/chunk/IChunk;)V", at = @At("RETURN"))
+    public void dungeons_world_endFillFromNoise(IWorld world, StructureManager structureManager, IChunk chunk, CallbackInfo ci) {
+        NoiseChunkGeneratorMixinCallback.dungeons_world_endFillFromNoise();
+    }
+
+    @Inject(method = "Lnet/minecraft/world/gen/NoiseChunkGenerator;buildSurfaceAndBedrock(Lnet/minecraft/world/gen/WorldGenRegion;Lnet/minecraft/world/chunk/IChunk;)V", at = @At("HEAD"))
+    public void dungeons_world_beginBuildSurface(WorldGenRegion region, IChunk chunk, CallbackInfo ci) {
+        SurfaceRegion.begin(region);
+    }
+
+    @Inject(method = "Lnet/minecraft/world/gen/NoiseChunkGenerator;buildSurfaceAndBedrock(Lnet/minecraft/world/gen/WorldGenRegion;Lnet/minecraft/world/chunk/IChunk;)V", at = @At("RETURN"))
+    public void dungeons_world_endBuildSurface(WorldGenRegion region, IChunk chunk, CallbackInfo ci) {
+        SurfaceRegion.end();
+    }
+
+    @Redirect(method = "Lnet/minecraft/world/gen/NoiseChunkGenerator;fillFromNoise(Lnet/minecraft/world/IWorld;Lnet/minecraft/world/gen/feature/structure/StructureManager;Lnet/minecraft/world/chunk/IChunk;)V", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/NoiseChunkGenerator;generateBaseState(DI)Lnet/minecraft/block/BlockState;"))
+    public BlockState dungeons_world_fillFromNoise(NoiseChunkGenerator generator, double noise, int y) {
+        BlockState blockState = NoiseChunkGeneratorMixinCallback.dungeons_world_generateBaseStateAtCursor(noise, y, this.defaultBlock, this.defaultFluid);
+        return blockState != null ? blockState : this.generateBaseState(noise, y);
+    }
 
 }
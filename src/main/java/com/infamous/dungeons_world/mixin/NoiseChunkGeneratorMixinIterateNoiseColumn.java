@@ -10,11 +10,7 @@ import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
-import org.spongepowered.asm.mixin.injection.Constant;
-import org.spongepowered.asm.mixin.injection.Inject;
-import org.spongepowered.asm.mixin.injection.ModifyConstant;
-import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.asm.mixin.injection.Redirect;
 
 import java.util.function.Predicate;
 
@@ -23,15 +19,22 @@ public abstract class NoiseChunkGeneratorMixinIterateNoiseColumn extends ChunkGe
 
     @Final
     @Shadow
-    private int chunkCountY;
+    private long seed;
 
     @Final
     @Shadow
-    private long seed;
+    protected BlockState defaultBlock;
+
+    @Final
+    @Shadow
+    protected BlockState defaultFluid;
 
     @Shadow
     public abstract int getSeaLevel();
 
+    @Shadow
+    protected abstract BlockState generateBaseState(double noise, int y);
+
     public NoiseChunkGeneratorMixinIterateNoiseColumn(BiomeProvider p_i231888_1_, DimensionStructuresSettings p_i231888_2_) {
         super(p_i231888_1_, p_i231888_2_);
     }
@@ -40,9 +43,10 @@ public abstract class NoiseChunkGeneratorMixinIterateNoiseColumn extends ChunkGe
         super(p_i231887_1_, p_i231887_2_, p_i231887_3_, p_i231887_4_);
     }
 
-    @ModifyConstant(method = "Lnet/minecraft/world/gen/NoiseChunkGenerator;iterateNoiseColumn(II[Lnet/minecraft/block/BlockState;Ljava/util/function/Predicate;)I", constant = @Constant(intValue = 1, ordinal = 13))
-    public int dungeons_world_iterateNoiseColumn(int original, int p_236087_1_, int p_236087_2_, BlockState[] p_236087_3_, Predicate<BlockState> p_236087_4_) {
-        return NoiseChunkGeneratorMixinCallback.dungeons_world_iterateNoiseColumn(p_236087_1_, p_236087_2_, p_236087_3_, p_236087_4_, this.getSeaLevel(), this.seed, this.biomeSource);
+    @Redirect(method = "Lnet/minecraft/world/gen/NoiseChunkGenerator;iterateNoiseColumn(II[Lnet/minecraft/block/BlockState;Ljava/util/function/Predicate;)I", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/NoiseChunkGenerator;generateBaseState(DI)Lnet/minecraft/block/BlockState;"))
+    public BlockState dungeons_world_iterateNoiseColumn(NoiseChunkGenerator generator, double noise, int y, int p_236087_1_, int p_236087_2_, BlockState[] p_236087_3_, Predicate<BlockState> p_236087_4_) {
+        BlockState blockState = NoiseChunkGeneratorMixinCallback.dungeons_world_afterGenerateBaseState(noise, p_236087_1_, y, p_236087_2_, this.getSeaLevel(), this.seed, generator, this.defaultBlock, this.defaultFluid);
+        return blockState != null ? blockState : this.generateBaseState(noise, y);
     }
 
 }
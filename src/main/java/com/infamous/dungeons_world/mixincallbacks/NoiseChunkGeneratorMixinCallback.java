@@ -1,86 +1,173 @@
 package com.infamous.dungeons_world.mixincallbacks;
 
-import com.infamous.dungeons_world.util.OpenSimplex2F;
+import com.infamous.dungeons_world.world.gen.noise.BaseStateTable;
+import com.infamous.dungeons_world.world.gen.noise.TerrainBiomes;
+import com.infamous.dungeons_world.world.gen.noise.TerrainNoiseContext;
+import com.infamous.dungeons_world.world.gen.noise.TerrainShaping;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledStage;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
 import net.minecraft.block.BlockState;
-import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.biome.provider.BiomeProvider;
+import net.minecraft.world.gen.ChunkGenerator;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.function.Predicate;
-
-import static com.infamous.dungeons_world.DungeonsWorld.MODID;
-import static net.minecraft.block.Blocks.AIR;
+import javax.annotation.Nullable;
 
 public class NoiseChunkGeneratorMixinCallback {
-    protected static long seed;
-    protected static OpenSimplex2F noiseGen;
+    private static final double HIGH_GROUND_DENSITY = 1.0D;
+    private static final ProfiledStage FILL_NOISE_COLUMN_STAGE = WorldgenProfiler.stage("terrain/fill_noise_column");
+    private static final ProfiledStage BASE_STATE_TABLE_STAGE = WorldgenProfiler.stage("terrain/base_state_table");
+    private static final ProfiledStage FILL_FROM_NOISE_STAGE = WorldgenProfiler.stage("terrain/fill_from_noise");
 
-    public static void setSeed(long seed) {
-        if (NoiseChunkGeneratorMixinCallback.seed != seed || noiseGen == null) {
-            noiseGen = new OpenSimplex2F(seed);
-            NoiseChunkGeneratorMixinCallback.seed = seed;
+    public static void dungeons_world_fillNoiseColumn(double[] p_222548_1_, int p_222548_2_, int p_222548_3_, CallbackInfo ci, int seaLevel, long seed, int chunkCountY, BiomeProvider biomeSource) {
+        long start = FILL_NOISE_COLUMN_STAGE.start();
+        try {
+            if(TerrainShaping.isEnabled() && TerrainBiomes.isCreeperWoods(biomeSource, p_222548_2_, seaLevel, p_222548_3_)) {
+                double density = HIGH_GROUND_DENSITY * TerrainNoiseContext.forSeed(seed).getBlendWeight(p_222548_2_, p_222548_3_);
+                if(density > 0.0D) {
+                    for(int i1 = 0; i1 <= chunkCountY; ++i1) {
+                        p_222548_1_[i1] = p_222548_1_[i1] + density;
+                    }
+                }
+            }
+        } finally {
+            FILL_NOISE_COLUMN_STAGE.stop(start);
         }
     }
 
-    public static void dungeons_world_fillNoiseColumn(double[] p_222548_1_, int p_222548_2_, int p_222548_3_, CallbackInfo ci, int seaLevel, long seed, int chunkCountY, BiomeProvider biomeSource) {
-        if(biomeSource.getNoiseBiome(p_222548_2_, seaLevel, p_222548_3_).getRegistryName().equals(new ResourceLocation(MODID, "creeper_woods")) && isHighGround(p_222548_2_, p_222548_3_, seed)) {
-            for(int i1 = 0; i1 <= chunkCountY; ++i1) {
-                p_222548_1_[i1] = p_222548_1_[i1] + 1;
-            }
+    /**
+     * The shared base-state function behind both fillFromNoise and iterateNoiseColumn.
+     * Structure height probes therefore see exactly the terrain that gets generated.
+     * Returns null when the column is not shaped, in which case the caller should fall back to vanilla.
+     */
+    @Nullable
+    public static BlockState dungeons_world_afterGenerateBaseState(double noise, int x, int y, int z, int seaLevel, long seed, ChunkGenerator generator, BlockState defaultBlock, BlockState defaultFluid) {
+        if (!TerrainShaping.isEnabled()) {
+            return null;
+        }
+        BaseStateTable table = TerrainNoiseContext.forSeed(seed).getBaseStateTable(generator, x >> 4, z >> 4);
+        if (table.isVanilla()) {
+            return null;
         }
+        return table.getState(noise, x, y, z, seaLevel, defaultBlock, defaultFluid);
     }
 
-    public static int dungeons_world_iterateNoiseColumn(int x, int z, BlockState[] blockStates, Predicate<BlockState> predicate, int seaLevel, long seed, BiomeProvider biomeSource) {
-        if(biomeSource.getNoiseBiome(x >> 2, seaLevel, z >> 2).getRegistryName().equals(new ResourceLocation(MODID, "creeper_woods"))) {
-            if(isHighGround(x, z, seed)){
-                return 4;
-            }else{
-                return 0;
-            }
-        }else{
-            return 1;
+    /**
+     * fillFromNoise interleaves interpolation with section writes, so it cannot hand us whole slabs.
+     * Instead the chunk's table is looked up once when the chunk starts and the per-block redirect
+     * reads it through a per-thread cursor.
+     *
+     * Whether the chunk is shaped is decided here, once per chunk, and kept in the cursor of this thread only.
+     * The cursor also tracks the block position: fillFromNoise calls generateBaseState exactly once per block,
+     * cell column by cell column (x outer, z inner), top layer first, and within a layer x outer and z inner,
+     * so the position follows from how many calls came before without reading any local variable of the method.
+     */
+    public static void dungeons_world_beginFillFromNoise(int chunkX, int chunkZ, int seaLevel, long seed, ChunkGenerator generator, int cellWidth, int cellLayers) {
+        BaseStateCursor cursor = CURSOR.get();
+        // A fill that threw never reached endFillFromNoise, start this chunk from a clean cursor.
+        cursor.reset();
+        cursor.start = FILL_FROM_NOISE_STAGE.start();
+        BaseStateTable table = null;
+        if (TerrainShaping.isEnabled()) {
+            long start = BASE_STATE_TABLE_STAGE.start();
+            table = TerrainNoiseContext.forSeed(seed).getBaseStateTable(generator, chunkX, chunkZ);
+            BASE_STATE_TABLE_STAGE.stop(start);
+        }
+        // Chunks without Creeper Woods go straight to vanilla generateBaseState.
+        if (table != null && !table.isVanilla()) {
+            cursor.begin(table, seaLevel, chunkX << 4, chunkZ << 4, cellWidth, cellLayers);
         }
     }
 
-    public static BlockState dungeons_world_afterGenerateBaseState(double noise, int x, int y, int z, int seaLevel, long seed, BiomeProvider biomeSource, BlockState defaultBlock, BlockState defaultFluid) {
-        BlockState blockState = null;
-        if(biomeSource.getNoiseBiome(x, seaLevel, z).getRegistryName().equals(new ResourceLocation(MODID, "creeper_woods"))) {
-            if (isHighGround(x, z, seed) && noise > -0.2D) {
-                blockState = defaultBlock;
-            } else if (!isHighGround(x, z, seed) && noise > 0.2D) {
-                blockState = defaultBlock;
-            } else if (y < seaLevel) {
-                blockState = defaultFluid;
-            } else {
-                blockState = AIR.defaultBlockState();
-            }
-        }else{
-            blockState = vanillaGenerateBaseState(noise, y, seaLevel, defaultBlock, defaultFluid);
+    public static void dungeons_world_endFillFromNoise() {
+        BaseStateCursor cursor = CURSOR.get();
+        // Covers vanilla's own interpolation and section writes as well, the baseline the shaping cost compares against.
+        FILL_FROM_NOISE_STAGE.stop(cursor.start);
+        cursor.reset();
+    }
+
+    /**
+     * Returns null when the current chunk is not shaped, in which case the caller should fall back to vanilla.
+     */
+    @Nullable
+    public static BlockState dungeons_world_generateBaseStateAtCursor(double noise, int y, BlockState defaultBlock, BlockState defaultFluid) {
+        // With shaping off no chunk is shaped, so the cursor is not even looked up.
+        if (!TerrainShaping.isEnabled()) {
+            return null;
+        }
+        BaseStateCursor cursor = CURSOR.get();
+        if (cursor.table == null) {
+            return null;
         }
+        BlockState blockState = cursor.table.getState(noise, cursor.getX(), y, cursor.getZ(), cursor.seaLevel, defaultBlock, defaultFluid);
+        cursor.advance();
         return blockState;
     }
 
-    private static boolean isHighGround(int x, int z, long seed) {
-        setSeed(seed);
-        double sampleNoise = noiseGen.noise2(x * 0.015D, z * 0.015D);
-        if(sampleNoise < 0.3 && sampleNoise > (0.3 * -1)){
-            return false;
-        }else{
-            return  true;
+    private static final ThreadLocal<BaseStateCursor> CURSOR = ThreadLocal.withInitial(BaseStateCursor::new);
+
+    private static class BaseStateCursor {
+        private BaseStateTable table;
+        private int seaLevel;
+        private int minX;
+        private int minZ;
+        private int cellWidth;
+        private int cellLayers;
+        private int cellX;
+        private int cellZ;
+        private int dx;
+        private int dz;
+        private int layersLeft;
+        private long start;
+
+        private void begin(BaseStateTable table, int seaLevel, int minX, int minZ, int cellWidth, int cellLayers) {
+            this.table = table;
+            this.seaLevel = seaLevel;
+            this.minX = minX;
+            this.minZ = minZ;
+            this.cellWidth = cellWidth;
+            this.cellLayers = cellLayers;
+            this.cellX = 0;
+            this.cellZ = 0;
+            this.dx = 0;
+            this.dz = 0;
+            this.layersLeft = cellLayers;
+        }
+
+        private int getX() {
+            return this.minX + this.cellX + this.dx;
+        }
+
+        private int getZ() {
+            return this.minZ + this.cellZ + this.dz;
         }
-    }
 
-    private static BlockState vanillaGenerateBaseState(double noise, int y, int seaLevel, BlockState defaultBlock, BlockState defaultFluid) {
-        BlockState blockstate;
-        if (noise > 0.0D) {
-            blockstate = defaultBlock;
-        } else if (y < seaLevel) {
-            blockstate = defaultFluid;
-        } else {
-            blockstate = AIR.defaultBlockState();
+        // Steps to the next block in the order fillFromNoise visits them.
+        private void advance() {
+            if (++this.dz < this.cellWidth) {
+                return;
+            }
+            this.dz = 0;
+            if (++this.dx < this.cellWidth) {
+                return;
+            }
+            this.dx = 0;
+            if (--this.layersLeft > 0) {
+                return;
+            }
+            this.layersLeft = this.cellLayers;
+            this.cellZ += this.cellWidth;
+            if (this.cellZ < 16) {
+                return;
+            }
+            this.cellZ = 0;
+            this.cellX += this.cellWidth;
         }
 
-        return blockstate;
+        private void reset() {
+            this.table = null;
+            this.start = 0L;
+        }
     }
 
 }
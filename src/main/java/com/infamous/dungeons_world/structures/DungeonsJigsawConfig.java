@@ -0,0 +1,71 @@
+package com.infamous.dungeons_world.structures;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.gen.feature.IFeatureConfig;
+
+/**
+ * Configuration of a {@link DungeonsJigsawStructure}, read from its configured_structure_feature JSON.
+ *
+ * The vertical offset is drawn from min_y_offset to max_y_offset once the pieces are placed. The pieces move up by it
+ * while the bottom of their bounding boxes stays put, so land added around the structure meets its doorstep.
+ */
+public class DungeonsJigsawConfig implements IFeatureConfig {
+    public static final Codec<DungeonsJigsawConfig> CODEC = RecordCodecBuilder.<DungeonsJigsawConfig>create(builder -> builder.group(
+            ResourceLocation.CODEC.fieldOf("start_pool").forGetter(DungeonsJigsawConfig::getStartPool),
+            Codec.intRange(1, 16).fieldOf("max_depth").orElse(10).forGetter(DungeonsJigsawConfig::getMaxDepth),
+            Codec.intRange(-16, 16).fieldOf("min_y_offset").orElse(1).forGetter(DungeonsJigsawConfig::getMinYOffset),
+            Codec.intRange(-16, 16).fieldOf("max_y_offset").orElse(1).forGetter(DungeonsJigsawConfig::getMaxYOffset),
+            PlacementCheck.CODEC.fieldOf("placement_check").orElse(PlacementCheck.NOT_ON_FLUID).forGetter(DungeonsJigsawConfig::getPlacementCheck))
+            .apply(builder, DungeonsJigsawConfig::new))
+            .comapFlatMap(DungeonsJigsawConfig::validate, config -> config);
+
+    private final ResourceLocation startPool;
+    private final int maxDepth;
+    private final int minYOffset;
+    private final int maxYOffset;
+    private final PlacementCheck placementCheck;
+
+    public DungeonsJigsawConfig(ResourceLocation startPool, int maxDepth, int minYOffset, int maxYOffset, PlacementCheck placementCheck) {
+        this.startPool = startPool;
+        this.maxDepth = maxDepth;
+        this.minYOffset = minYOffset;
+        this.maxYOffset = maxYOffset;
+        this.placementCheck = placementCheck;
+    }
+
+    private static DataResult<DungeonsJigsawConfig> validate(DungeonsJigsawConfig config) {
+        if (config.minYOffset > config.maxYOffset) {
+            return DataResult.error("min_y_offset " + config.minYOffset + " is above max_y_offset " + config.maxYOffset);
+        }
+        return DataResult.success(config);
+    }
+
+    /**
+     * The template pool the structure starts from, like "dungeons_world:creepy_crypt/start_pool".
+     */
+    public ResourceLocation getStartPool() {
+        return this.startPool;
+    }
+
+    /**
+     * How many pieces outward from the start piece the jigsaw may go.
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    public int getMinYOffset() {
+        return this.minYOffset;
+    }
+
+    public int getMaxYOffset() {
+        return this.maxYOffset;
+    }
+
+    public PlacementCheck getPlacementCheck() {
+        return this.placementCheck;
+    }
+}
@@ -0,0 +1,134 @@
+package com.infamous.dungeons_world.structures;
+
+import com.infamous.dungeons_world.DungeonsWorld;
+import com.infamous.dungeons_world.world.gen.noise.ColumnProbe;
+import net.minecraft.util.SharedSeedRandom;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MutableBoundingBox;
+import net.minecraft.util.registry.DynamicRegistries;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.MobSpawnInfo;
+import net.minecraft.world.biome.provider.BiomeProvider;
+import net.minecraft.world.gen.ChunkGenerator;
+import net.minecraft.world.gen.GenerationStage;
+import net.minecraft.world.gen.feature.StructureFeature;
+import net.minecraft.world.gen.feature.jigsaw.JigsawManager;
+import net.minecraft.world.gen.feature.jigsaw.JigsawPattern;
+import net.minecraft.world.gen.feature.structure.AbstractVillagePiece;
+import net.minecraft.world.gen.feature.structure.Structure;
+import net.minecraft.world.gen.feature.structure.StructureStart;
+import net.minecraft.world.gen.feature.structure.VillageConfig;
+import net.minecraft.world.gen.feature.template.TemplateManager;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A surface jigsaw structure whose start pool, depth, vertical offset, land transform and placement check
+ * all come from its {@link DungeonsJigsawConfig}.
+ *
+ * Each structure of the mod is still its own registered instance, since spacing, structure starts and spawns are kept per structure.
+ * The default config is what the built-in configured structure uses, and datapacks can override the configured_structure_feature JSON.
+ */
+public class DungeonsJigsawStructure extends DungeonsStructure<DungeonsJigsawConfig> {
+    private final DungeonsJigsawConfig defaultConfig;
+    private final Supplier<List<MobSpawnInfo.Spawners>> monsters;
+    private final List<MobSpawnInfo.Spawners> creatures;
+
+    /**
+     * @param monsters called whenever Forge gathers the structure spawns, so it can depend on which mods are loaded
+     */
+    public DungeonsJigsawStructure(String profileName, DungeonsJigsawConfig defaultConfig, Supplier<List<MobSpawnInfo.Spawners>> monsters, List<MobSpawnInfo.Spawners> creatures) {
+        super(DungeonsJigsawConfig.CODEC, profileName);
+        this.defaultConfig = defaultConfig;
+        this.monsters = monsters;
+        this.creatures = creatures;
+    }
+
+    public DungeonsJigsawConfig getDefaultConfig() {
+        return this.defaultConfig;
+    }
+
+    public StructureFeature<DungeonsJigsawConfig, ? extends Structure<DungeonsJigsawConfig>> configuredDefault() {
+        return this.configured(this.defaultConfig);
+    }
+
+    @Override
+    public IStartFactory<DungeonsJigsawConfig> getStartFactory() {
+        return DungeonsJigsawStructure.Start::new;
+    }
+
+    @Override
+    public GenerationStage.Decoration step() {
+        return GenerationStage.Decoration.SURFACE_STRUCTURES;
+    }
+
+    /**
+     * Monsters and creatures spawning over time inside the structure, see the Forge docs of these methods for the classifications.
+     */
+    @Override
+    public List<MobSpawnInfo.Spawners> getDefaultSpawnList() {
+        return this.monsters.get();
+    }
+
+    @Override
+    public List<MobSpawnInfo.Spawners> getDefaultCreatureSpawnList() {
+        return this.creatures;
+    }
+
+    @Override
+    protected boolean isFeatureChunk(ChunkGenerator chunkGenerator, BiomeProvider biomeSource, long seed, SharedSeedRandom chunkRandom, int chunkX, int chunkZ, Biome biome, ChunkPos chunkPos, DungeonsJigsawConfig featureConfig) {
+        // Skip generating the column when nothing would look at it.
+        return !featureConfig.getPlacementCheck().needsColumn()
+                || super.isFeatureChunk(chunkGenerator, biomeSource, seed, chunkRandom, chunkX, chunkZ, biome, chunkPos, featureConfig);
+    }
+
+    @Override
+    protected boolean canPlaceOn(ChunkGenerator chunkGenerator, ColumnProbe column, DungeonsJigsawConfig featureConfig) {
+        return featureConfig.getPlacementCheck().test(chunkGenerator, column);
+    }
+
+    public static class Start extends StructureStart<DungeonsJigsawConfig> {
+        public Start(Structure<DungeonsJigsawConfig> structureIn, int chunkX, int chunkZ, MutableBoundingBox mutableBoundingBox, int referenceIn, long seedIn) {
+            super(structureIn, chunkX, chunkZ, mutableBoundingBox, referenceIn, seedIn);
+        }
+
+        @Override
+        public void generatePieces(DynamicRegistries dynamicRegistryManager, ChunkGenerator chunkGenerator, TemplateManager templateManagerIn, int chunkX, int chunkZ, Biome biomeIn, DungeonsJigsawConfig config) {
+            JigsawPattern startPool = dynamicRegistryManager.registryOrThrow(Registry.TEMPLATE_POOL_REGISTRY).get(config.getStartPool());
+            if (startPool == null) {
+                DungeonsWorld.LOGGER.error("Missing start pool {} of structure {}", config.getStartPool(), this.getFeature().getRegistryName());
+                return;
+            }
+
+            // The Y of the centre of the chunk is ignored, the last argument places the start piece on the heightmap.
+            BlockPos blockpos = new BlockPos((chunkX << 4) + 7, 0, (chunkZ << 4) + 7);
+            JigsawManager.addPieces(
+                    dynamicRegistryManager,
+                    new VillageConfig(() -> startPool, config.getMaxDepth()),
+                    AbstractVillagePiece::new,
+                    chunkGenerator,
+                    templateManagerIn,
+                    blockpos,
+                    this.pieces,
+                    this.random,
+                    false,
+                    true);
+
+            // Raise the pieces while keeping the bottom of their boxes, so added land is flush with the doorstep instead of covering it.
+            int yOffset = config.getMaxYOffset() == config.getMinYOffset()
+                    ? config.getMaxYOffset()
+                    : config.getMaxYOffset() - this.random.nextInt(config.getMaxYOffset() - config.getMinYOffset() + 1);
+            if (yOffset != 0) {
+                this.pieces.forEach(piece -> {
+                    piece.move(0, yOffset, 0);
+                    piece.getBoundingBox().y0 -= yOffset;
+                });
+            }
+
+            this.calculateBoundingBox();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.infamous.dungeons_world.structures;
+
+import com.infamous.dungeons_world.world.gen.noise.ColumnProbe;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledStage;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
+import com.mojang.serialization.Codec;
+import net.minecraft.util.SharedSeedRandom;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.provider.BiomeProvider;
+import net.minecraft.world.gen.ChunkGenerator;
+import net.minecraft.world.gen.feature.IFeatureConfig;
+import net.minecraft.world.gen.feature.structure.Structure;
+
+/**
+ * Base class of the mod's surface structures, holding the placement check they all share.
+ *
+ * The check reads the centre column of the candidate chunk through {@link ColumnProbe#probeChunkCenter},
+ * so when several structures are candidates for one chunk its noise column is only generated once.
+ */
+public abstract class DungeonsStructure<C extends IFeatureConfig> extends Structure<C> {
+    private final ProfiledStage featureChunkStage;
+
+    /**
+     * @param profileName the name of the structure in profiler stage names, like "creepy_crypt"
+     */
+    protected DungeonsStructure(Codec<C> codec, String profileName) {
+        super(codec);
+        this.featureChunkStage = WorldgenProfiler.stage("structure/" + profileName + "/is_feature_chunk");
+    }
+
+    /*
+     * This is where extra checks can be done to determine if the structure can spawn here.
+     * This only needs to be overridden if you're adding additional spawn conditions.
+     *
+     * Fun fact, if you set your structure separation/spacing to be 0/1, you can use
+     * isFeatureChunk to return true only if certain chunk coordinates are passed in
+     * which allows you to spawn structures only at certain coordinates in the world.
+     *
+     * Notice how the biome is also passed in. Though, you are not going to
+     * do any biome checking here as you should've added this structure to
+     * the biomes you wanted already with the biome load event.
+     *
+     * Basically, this method is used for determining if the land is at a suitable height,
+     * if certain other structures are too close or not, or some other restrictive condition.
+     *
+     * For example, Pillager Outposts added a check to make sure it cannot spawn within 10 chunk of a Village.
+     * (Bedrock Edition seems to not have the same check)
+     *
+     *
+     * Also, please for the love of god, do not do dimension checking here. If you do and
+     * another mod's dimension is trying to spawn your structure, the locate
+     * command will make minecraft hang forever and break the game.
+     *
+     * Instead, use the addDimensionalSpacing method in StructureTutorialMain class.
+     * If you check for the dimension there and do not add your structure's
+     * spacing into the chunk generator, the structure will not spawn in that dimension!
+     */
+    @Override
+    protected boolean isFeatureChunk(ChunkGenerator chunkGenerator, BiomeProvider biomeSource, long seed, SharedSeedRandom chunkRandom, int chunkX, int chunkZ, Biome biome, ChunkPos chunkPos, C featureConfig) {
+        long start = this.featureChunkStage.start();
+        try {
+            // Grab height of land and the top block itself in one pass. Will stop at first non-air block.
+            // In overworld, the column will be made of stone, water, and air. In nether, it will be netherrack, lava, and air.
+            // End will only be endstone and air. It depends on what block the chunk generator will place for that dimension.
+            ColumnProbe column = ColumnProbe.probeChunkCenter(chunkGenerator, chunkX, chunkZ);
+
+            // Now we test to make sure our structure is not spawning on water or other fluids.
+            // You can do height check instead too to make it spawn at high elevations.
+            return this.canPlaceOn(chunkGenerator, column, featureConfig);
+        } finally {
+            this.featureChunkStage.stop(start);
+        }
+    }
+
+    /**
+     * Whether the structure may start on a chunk whose centre column is the given one, by default anywhere but on fluids.
+     */
+    protected boolean canPlaceOn(ChunkGenerator chunkGenerator, ColumnProbe column, C featureConfig) {
+        return !column.isTopFluid(); //column.getLandHeight() > 100;
+    }
+}
@@ -5,20 +5,19 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.registry.Registry;
 import net.minecraft.util.registry.WorldGenRegistries;
 import net.minecraft.world.gen.FlatGenerationSettings;
-import net.minecraft.world.gen.feature.IFeatureConfig;
 import net.minecraft.world.gen.feature.StructureFeature;
 
 public class ModConfiguredStructures {
     /**
      * Static instance of our structure so we can reference it and add it to biomes easily.
      */
-    public static StructureFeature<?, ?> CONFIGURED_CW_RUINED_TOWER = ModStructures.CW_RUINED_TOWER.get().configured(IFeatureConfig.NONE);
-    public static StructureFeature<?, ?> CONFIGURED_CW_ANCIENT_TRUNK = ModStructures.CW_ANCIENT_TRUNK.get().configured(IFeatureConfig.NONE);
-    public static StructureFeature<?, ?> CONFIGURED_CW_CREEPER_HEAD = ModStructures.CW_CREEPER_HEAD.get().configured(IFeatureConfig.NONE);
-    public static StructureFeature<?, ?> CONFIGURED_CW_ENDERMAN_HEAD = ModStructures.CW_ENDERMAN_HEAD.get().configured(IFeatureConfig.NONE);
-    public static StructureFeature<?, ?> CONFIGURED_ILLAGER_CARAVAN = ModStructures.ILLAGER_CARAVAN.get().configured(IFeatureConfig.NONE);
-    public static StructureFeature<?, ?> CONFIGURED_CREEPY_CRYPT = ModStructures.CREEPY_CRYPT.get().configured(IFeatureConfig.NONE);
-    public static StructureFeature<?, ?> CONFIGURED_DUNGEONS_BLACKSMITH = ModStructures.DUNGEONS_BLACKSMITH.get().configured(IFeatureConfig.NONE);
+    public static StructureFeature<?, ?> CONFIGURED_CW_RUINED_TOWER = ModStructures.CW_RUINED_TOWER.get().configuredDefault();
+    public static StructureFeature<?, ?> CONFIGURED_CW_ANCIENT_TRUNK = ModStructures.CW_ANCIENT_TRUNK.get().configuredDefault();
+    public static StructureFeature<?, ?> CONFIGURED_CW_CREEPER_HEAD = ModStructures.CW_CREEPER_HEAD.get().configuredDefault();
+    public static StructureFeature<?, ?> CONFIGURED_CW_ENDERMAN_HEAD = ModStructures.CW_ENDERMAN_HEAD.get().configuredDefault();
+    public static StructureFeature<?, ?> CONFIGURED_ILLAGER_CARAVAN = ModStructures.ILLAGER_CARAVAN.get().configuredDefault();
+    public static StructureFeature<?, ?> CONFIGURED_CREEPY_CRYPT = ModStructures.CREEPY_CRYPT.get().configuredDefault();
+    public static StructureFeature<?, ?> CONFIGURED_DUNGEONS_BLACKSMITH = ModStructures.DUNGEONS_BLACKSMITH.get().configuredDefault();
 
     /**
      * Registers the configured structure which is what gets added to the biomes.
@@ -3,8 +3,11 @@ package com.infamous.dungeons_world.structures;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.infamous.dungeons_world.DungeonsWorld;
+import com.infamous.dungeons_world.compat.DungeonsMobsCompat;
+import net.minecraft.entity.EntityType;
+import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.registry.WorldGenRegistries;
-import net.minecraft.world.gen.feature.NoFeatureConfig;
+import net.minecraft.world.biome.MobSpawnInfo;
 import net.minecraft.world.gen.feature.structure.Structure;
 import net.minecraft.world.gen.settings.DimensionStructuresSettings;
 import net.minecraft.world.gen.settings.StructureSeparationSettings;
@@ -12,7 +15,9 @@ import net.minecraftforge.fml.RegistryObject;
 import net.minecraftforge.registries.DeferredRegister;
 import net.minecraftforge.registries.ForgeRegistries;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class ModStructures {
@@ -27,6 +32,29 @@ public class ModStructures {
      */
     public static final DeferredRegister<Structure<?>> STRUCTURES = DeferredRegister.create(ForgeRegistries.STRUCTURE_FEATURES, DungeonsWorld.MODID);
 
+    /**
+     * Mobs that spawn naturally over time inside a structure. They only count against the cap of their own classification,
+     * so monsters and creatures go in separate lists. Other classifications need the StructureSpawnListGatherEvent.
+     */
+    private static final List<MobSpawnInfo.Spawners> RUINED_TOWER_MONSTERS = ImmutableList.of(
+            new MobSpawnInfo.Spawners(EntityType.ILLUSIONER, 100, 4, 9),
+            new MobSpawnInfo.Spawners(EntityType.VINDICATOR, 100, 4, 9)
+    );
+    private static final List<MobSpawnInfo.Spawners> RUINED_TOWER_CREATURES = ImmutableList.of(
+            new MobSpawnInfo.Spawners(EntityType.SHEEP, 30, 10, 15)
+    );
+    private static final List<MobSpawnInfo.Spawners> ILLAGER_CARAVAN_MONSTERS = ImmutableList.of(
+            new MobSpawnInfo.Spawners(EntityType.ILLUSIONER, 1, 1, 1),
+            new MobSpawnInfo.Spawners(EntityType.VINDICATOR, 50, 1, 2),
+            new MobSpawnInfo.Spawners(EntityType.PILLAGER, 100, 2, 3),
+            new MobSpawnInfo.Spawners(EntityType.EVOKER, 20, 1, 1)
+    );
+    private static final List<MobSpawnInfo.Spawners> ILLAGER_CARAVAN_CREATURES = ImmutableList.of(
+            new MobSpawnInfo.Spawners(EntityType.SHEEP, 100, 2, 4),
+            new MobSpawnInfo.Spawners(EntityType.COW, 100, 2, 4),
+            new MobSpawnInfo.Spawners(EntityType.PIG, 100, 2, 4)
+    );
+
     /**
      * Registers the structure itself and sets what its path is. In this case, the
      * structure will have the resourcelocation of structure_tutorial:run_down_house.
@@ -41,15 +69,39 @@ public class ModStructures {
      * <p>
      * However, users might not know that and think you are to blame for issues that doesn't exist.
      * So it is best to keep your structure names the same as long as you can instead of changing them frequently.
+     * <p>
+     * The config passed in is the built-in one, the configured_structure_feature JSON of the same name mirrors it for datapacks.
+     * Land transform is not part of it, the list of noise affecting structures is global and set once in setupStructures.
      */
-    public static final RegistryObject<Structure<NoFeatureConfig>> CW_RUINED_TOWER = STRUCTURES.register("cw_ruined_tower", () -> (new CreeperWoodsRuinedTower(NoFeatureConfig.CODEC)));
-    public static final RegistryObject<Structure<NoFeatureConfig>> CW_ANCIENT_TRUNK = STRUCTURES.register("cw_ancient_trunk", () -> (new CreeperWoodsAncientTrunk(NoFeatureConfig.CODEC)));
-    public static final RegistryObject<Structure<NoFeatureConfig>> CW_CREEPER_HEAD = STRUCTURES.register("cw_creeper_head", () -> (new CreeperWoodsCreeperHead(NoFeatureConfig.CODEC)));
-    public static final RegistryObject<Structure<NoFeatureConfig>> CW_ENDERMAN_HEAD = STRUCTURES.register("cw_enderman_head", () -> (new CreeperWoodsEndermanHead(NoFeatureConfig.CODEC)));
-    public static final RegistryObject<Structure<NoFeatureConfig>> ILLAGER_CARAVAN = STRUCTURES.register("illager_caravan", () -> (new IllagerCaravan(NoFeatureConfig.CODEC)));
-    public static final RegistryObject<Structure<NoFeatureConfig>> CREEPY_CRYPT = STRUCTURES.register("creepy_crypt", () -> (new CreepyCrypt(NoFeatureConfig.CODEC)));
-    public static final RegistryObject<Structure<NoFeatureConfig>> DUNGEONS_BLACKSMITH = STRUCTURES.register("dungeons_blacksmith", () -> (new DungeonsBlacksmith(NoFeatureConfig.CODEC)));
+    public static final RegistryObject<DungeonsJigsawStructure> CW_RUINED_TOWER = STRUCTURES.register("cw_ruined_tower", () -> new DungeonsJigsawStructure("creeper_woods_ruined_tower",
+            new DungeonsJigsawConfig(new ResourceLocation(DungeonsWorld.MODID, "cw_ruined_tower/start_pool"), 10, 1, 1, PlacementCheck.NOT_ON_FLUID),
+            () -> RUINED_TOWER_MONSTERS, RUINED_TOWER_CREATURES));
+    public static final RegistryObject<DungeonsJigsawStructure> CW_ANCIENT_TRUNK = STRUCTURES.register("cw_ancient_trunk", () -> new DungeonsJigsawStructure("creeper_woods_ancient_trunk",
+            new DungeonsJigsawConfig(new ResourceLocation(DungeonsWorld.MODID, "cw_ancient_trunk/start_pool"), 10, 1, 1, PlacementCheck.NOT_ON_FLUID),
+            ImmutableList::of, ImmutableList.of()));
+    public static final RegistryObject<DungeonsJigsawStructure> CW_CREEPER_HEAD = STRUCTURES.register("cw_creeper_head", () -> new DungeonsJigsawStructure("creeper_woods_creeper_head",
+            new DungeonsJigsawConfig(new ResourceLocation(DungeonsWorld.MODID, "cw_creeper_head/start_pool"), 10, -1, 1, PlacementCheck.NOT_ON_FLUID),
+            ImmutableList::of, ImmutableList.of()));
+    public static final RegistryObject<DungeonsJigsawStructure> CW_ENDERMAN_HEAD = STRUCTURES.register("cw_enderman_head", () -> new DungeonsJigsawStructure("creeper_woods_enderman_head",
+            new DungeonsJigsawConfig(new ResourceLocation(DungeonsWorld.MODID, "cw_enderman_head/start_pool"), 10, -1, 1, PlacementCheck.NOT_ON_FLUID),
+            ImmutableList::of, ImmutableList.of()));
+    public static final RegistryObject<DungeonsJigsawStructure> ILLAGER_CARAVAN = STRUCTURES.register("illager_caravan", () -> new DungeonsJigsawStructure("illager_caravan",
+            new DungeonsJigsawConfig(new ResourceLocation(DungeonsWorld.MODID, "illager_caravan/start_pool"), 6, -1, 1, PlacementCheck.NOT_ON_FLUID),
+            ModStructures::getIllagerCaravanMonsters, ILLAGER_CARAVAN_CREATURES));
+    public static final RegistryObject<DungeonsJigsawStructure> CREEPY_CRYPT = STRUCTURES.register("creepy_crypt", () -> new DungeonsJigsawStructure("creepy_crypt",
+            new DungeonsJigsawConfig(new ResourceLocation(DungeonsWorld.MODID, "creepy_crypt/start_pool"), 10, -1, 1, PlacementCheck.NOT_ON_FLUID),
+            ImmutableList::of, ImmutableList.of()));
+    public static final RegistryObject<DungeonsJigsawStructure> DUNGEONS_BLACKSMITH = STRUCTURES.register("dungeons_blacksmith", () -> new DungeonsJigsawStructure("dungeons_blacksmith",
+            new DungeonsJigsawConfig(new ResourceLocation(DungeonsWorld.MODID, "dungeons_blacksmith/start_pool"), 10, 1, 1, PlacementCheck.NOT_ON_FLUID),
+            ImmutableList::of, ImmutableList.of()));
 
+    private static List<MobSpawnInfo.Spawners> getIllagerCaravanMonsters() {
+        List<MobSpawnInfo.Spawners> spawners = new ArrayList<>(ILLAGER_CARAVAN_MONSTERS);
+        if (DungeonsMobsCompat.isLoaded()) {
+            spawners.add(new MobSpawnInfo.Spawners(DungeonsMobsCompat.getEnchanter().get(), 60, 1, 1));
+        }
+        return spawners;
+    }
 
     /**
      * This is where we set the rarity of your structures and determine if land conforms to it.
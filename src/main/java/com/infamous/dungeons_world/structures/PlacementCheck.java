@@ -0,0 +1,64 @@
+package com.infamous.dungeons_world.structures;
+
+import com.infamous.dungeons_world.world.gen.noise.ColumnProbe;
+import com.mojang.serialization.Codec;
+import net.minecraft.util.IStringSerializable;
+import net.minecraft.world.gen.ChunkGenerator;
+
+import javax.annotation.Nullable;
+
+/**
+ * What a {@link DungeonsJigsawStructure} requires of the centre column of a chunk before it starts there.
+ */
+public enum PlacementCheck implements IStringSerializable {
+    /**
+     * Starts anywhere, without generating the column at all.
+     */
+    NONE("none"),
+    /**
+     * Starts anywhere the top block is not a fluid.
+     */
+    NOT_ON_FLUID("not_on_fluid"),
+    /**
+     * Starts where the top block is not a fluid and the land is at or above sea level.
+     */
+    DRY_LAND("dry_land");
+
+    public static final Codec<PlacementCheck> CODEC = IStringSerializable.fromEnum(PlacementCheck::values, PlacementCheck::byName);
+
+    private final String name;
+
+    PlacementCheck(String name) {
+        this.name = name;
+    }
+
+    public boolean needsColumn() {
+        return this != NONE;
+    }
+
+    public boolean test(ChunkGenerator chunkGenerator, ColumnProbe column) {
+        switch (this) {
+            case NOT_ON_FLUID:
+                return !column.isTopFluid();
+            case DRY_LAND:
+                return !column.isTopFluid() && column.getLandHeight() >= chunkGenerator.getSeaLevel();
+            default:
+                return true;
+        }
+    }
+
+    @Nullable
+    public static PlacementCheck byName(String name) {
+        for (PlacementCheck check : values()) {
+            if (check.name.equals(name)) {
+                return check;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getSerializedName() {
+        return this.name;
+    }
+}
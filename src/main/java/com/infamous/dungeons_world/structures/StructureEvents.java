@@ -7,6 +7,7 @@ import net.minecraft.world.gen.feature.structure.StructureManager;
 import net.minecraft.world.server.ServerWorld;
 import net.minecraftforge.event.entity.EntityMobGriefingEvent;
 import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.Event;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -25,6 +26,13 @@ public class StructureEvents {
         }
     }
 
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event){
+        if(event.getWorld() instanceof ServerWorld){
+            StructureLocator.clearRegions(((ServerWorld) event.getWorld()).getChunkSource().getGenerator());
+        }
+    }
+
     /*@SubscribeEvent
     public static void OnBreakEvent(BlockEvent.BreakEvent event){
         IWorld level = event.getWorld();
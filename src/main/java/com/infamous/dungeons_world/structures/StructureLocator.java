@@ -0,0 +1,242 @@
+package com.infamous.dungeons_world.structures;
+
+import com.infamous.dungeons_world.world.gen.noise.ChunkTileCache;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledStage;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
+import net.minecraft.util.SharedSeedRandom;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.provider.BiomeProvider;
+import net.minecraft.world.gen.ChunkGenerator;
+import net.minecraft.world.gen.feature.StructureFeature;
+import net.minecraft.world.gen.settings.StructureSeparationSettings;
+import net.minecraft.world.server.ServerWorld;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Finds the nearest start of a {@link DungeonsJigsawStructure} off the server thread.
+ *
+ * Vanilla /locate loads every candidate chunk up to the structure starts stage on the server thread,
+ * which for structures spaced 30 chunks apart freezes the server for seconds. This predicts starts instead:
+ * the spacing grid gives the one candidate chunk of each placement cell, and the biome and {@link DungeonsStructure}
+ * placement check at that chunk decide whether a start will be there. Nothing is generated or loaded.
+ *
+ * Cells are scanned in regions of 8x8, ring by ring around the origin with the regions of a ring in parallel.
+ * The candidates of a region are cached per generator, so repeated lookups and explorer maps near each other are cheap.
+ * A region depends on nothing but the seed, the spacing and the placement checks. A cached region is scanned again
+ * when the spacing of the structure changed since, and every region is dropped when the terrain the placement checks read changes.
+ */
+public final class StructureLocator {
+    /**
+     * The search radius in placement cells, the same one vanilla /locate uses.
+     */
+    public static final int DEFAULT_RADIUS = 100;
+
+    private static final int REGION_SHIFT = 3;
+    private static final int REGION_CELLS = 1 << REGION_SHIFT;
+    private static final ProfiledStage SCAN_STAGE = WorldgenProfiler.stage("structure/locate/scan_region");
+    private static final Map<DungeonsJigsawStructure, ChunkTileCache<Region>> REGIONS = new ConcurrentHashMap<>();
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private StructureLocator() {
+    }
+
+    /**
+     * The centre of the chunk of the nearest start within the radius, or empty when there is none or the dimension has no spacing for the structure.
+     * Call from the server thread, the future completes on a locator thread.
+     *
+     * @param radius how many placement cells away from the origin to look
+     */
+    public static CompletableFuture<Optional<BlockPos>> locate(ServerWorld world, DungeonsJigsawStructure structure, BlockPos origin, int radius) {
+        ChunkGenerator generator = world.getChunkSource().getGenerator();
+        StructureSeparationSettings settings = generator.getSettings().getConfig(structure);
+        if (settings == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return new Search(generator, world.getSeed(), structure, settings, origin, radius).ring(0);
+    }
+
+    /**
+     * The chunks of every predicted start in one region of placement cells, packed with {@link ChunkPos#asLong(int, int)}.
+     */
+    static long[] getRegion(ChunkGenerator generator, long seed, DungeonsJigsawStructure structure, StructureSeparationSettings settings, int regionX, int regionZ) {
+        ChunkTileCache<Region> cache = REGIONS.computeIfAbsent(structure, key -> new ChunkTileCache<>(256));
+        Region region = cache.getIfPresent(generator, regionX, regionZ);
+        if (region == null || !region.isScannedWith(settings)) {
+            region = new Region(settings, scanRegion(generator, seed, structure, settings, regionX, regionZ));
+            cache.put(generator, regionX, regionZ, region);
+        }
+        return region.starts;
+    }
+
+    /**
+     * Forgets the scanned regions of a generator whose world was unloaded.
+     */
+    public static void clearRegions(ChunkGenerator generator) {
+        for (ChunkTileCache<Region> cache : REGIONS.values()) {
+            cache.clear(generator);
+        }
+    }
+
+    /**
+     * Forgets every scanned region, for when the terrain the placement checks read has changed.
+     */
+    public static void clearRegions() {
+        for (ChunkTileCache<Region> cache : REGIONS.values()) {
+            cache.clear();
+        }
+    }
+
+    private static long[] scanRegion(ChunkGenerator generator, long seed, DungeonsJigsawStructure structure, StructureSeparationSettings settings, int regionX, int regionZ) {
+        long start = SCAN_STAGE.start();
+        try {
+            BiomeProvider biomeSource = generator.getBiomeSource();
+            SharedSeedRandom random = new SharedSeedRandom();
+            long[] starts = new long[REGION_CELLS * REGION_CELLS];
+            int count = 0;
+            for (int cellZ = regionZ << REGION_SHIFT; cellZ < (regionZ + 1) << REGION_SHIFT; cellZ++) {
+                for (int cellX = regionX << REGION_SHIFT; cellX < (regionX + 1) << REGION_SHIFT; cellX++) {
+                    ChunkPos chunk = structure.getPotentialFeatureChunk(settings, seed, random, cellX * settings.spacing(), cellZ * settings.spacing());
+                    // Same biome lookup as ChunkGenerator.createStructures.
+                    Biome biome = biomeSource.getNoiseBiome((chunk.x << 2) + 2, 0, (chunk.z << 2) + 2);
+                    DungeonsJigsawConfig config = getConfig(biome, structure);
+                    if (config != null && structure.isFeatureChunk(generator, biomeSource, seed, random, chunk.x, chunk.z, biome, chunk, config)) {
+                        starts[count++] = chunk.toLong();
+                    }
+                }
+            }
+            return count == 0 ? Region.NO_STARTS : Arrays.copyOf(starts, count);
+        } finally {
+            SCAN_STAGE.stop(start);
+        }
+    }
+
+    @Nullable
+    private static DungeonsJigsawConfig getConfig(Biome biome, DungeonsJigsawStructure structure) {
+        for (Supplier<StructureFeature<?, ?>> supplier : biome.getGenerationSettings().structures()) {
+            StructureFeature<?, ?> feature = supplier.get();
+            if (feature.feature == structure) {
+                return (DungeonsJigsawConfig) feature.config;
+            }
+        }
+        return null;
+    }
+
+    private static ExecutorService createExecutor() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Dungeons World Locate #" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * The predicted starts of one region, along with the spacing they were predicted for.
+     */
+    private static final class Region {
+        private static final long[] NO_STARTS = new long[0];
+
+        private final int spacing;
+        private final int separation;
+        private final int salt;
+        private final long[] starts;
+
+        private Region(StructureSeparationSettings settings, long[] starts) {
+            this.spacing = settings.spacing();
+            this.separation = settings.separation();
+            this.salt = settings.salt();
+            this.starts = starts;
+        }
+
+        private boolean isScannedWith(StructureSeparationSettings settings) {
+            return this.spacing == settings.spacing() && this.separation == settings.separation() && this.salt == settings.salt();
+        }
+    }
+
+    /**
+     * One lookup, scanning rings of regions until no unscanned region can hold a nearer start than the best one found.
+     */
+    private static final class Search {
+        private final ChunkGenerator generator;
+        private final long seed;
+        private final DungeonsJigsawStructure structure;
+        private final StructureSeparationSettings settings;
+        private final BlockPos origin;
+        private final int radius;
+        private final int originRegionX;
+        private final int originRegionZ;
+        private final long regionBlocks;
+        @Nullable
+        private BlockPos best;
+        private long bestDistanceSqr = Long.MAX_VALUE;
+
+        private Search(ChunkGenerator generator, long seed, DungeonsJigsawStructure structure, StructureSeparationSettings settings, BlockPos origin, int radius) {
+            this.generator = generator;
+            this.seed = seed;
+            this.structure = structure;
+            this.settings = settings;
+            this.origin = origin;
+            this.radius = radius;
+            int spacing = settings.spacing();
+            this.originRegionX = Math.floorDiv(origin.getX() >> 4, spacing) >> REGION_SHIFT;
+            this.originRegionZ = Math.floorDiv(origin.getZ() >> 4, spacing) >> REGION_SHIFT;
+            this.regionBlocks = (long) REGION_CELLS * spacing * 16;
+        }
+
+        private CompletableFuture<Optional<BlockPos>> ring(int ring) {
+            // Every region of this ring is at least ring - 1 whole regions away from the origin.
+            long nearest = Math.max(0, ring - 1) * this.regionBlocks;
+            if (ring > 0 && ((ring - 1) * REGION_CELLS > this.radius || nearest * nearest > this.bestDistanceSqr)) {
+                return CompletableFuture.completedFuture(Optional.ofNullable(this.best));
+            }
+            int side = 2 * ring + 1;
+            int regions = ring == 0 ? 1 : 8 * ring;
+            @SuppressWarnings("unchecked")
+            CompletableFuture<long[]>[] scans = new CompletableFuture[regions];
+            int i = 0;
+            for (int dz = -ring; dz <= ring; dz++) {
+                // Only the edge of the square, the inside is earlier rings.
+                int step = dz == -ring || dz == ring ? 1 : side - 1;
+                for (int dx = -ring; dx <= ring; dx += step) {
+                    int regionX = this.originRegionX + dx;
+                    int regionZ = this.originRegionZ + dz;
+                    scans[i++] = CompletableFuture.supplyAsync(() -> getRegion(this.generator, this.seed, this.structure, this.settings, regionX, regionZ), EXECUTOR);
+                }
+            }
+            return CompletableFuture.allOf(scans).thenCompose(done -> {
+                for (CompletableFuture<long[]> scan : scans) {
+                    for (long start : scan.join()) {
+                        this.offer(ChunkPos.getX(start), ChunkPos.getZ(start));
+                    }
+                }
+                return this.ring(ring + 1);
+            });
+        }
+
+        private void offer(int chunkX, int chunkZ) {
+            int x = (chunkX << 4) + 7;
+            int z = (chunkZ << 4) + 7;
+            long dx = x - this.origin.getX();
+            long dz = z - this.origin.getZ();
+            long distanceSqr = dx * dx + dz * dz;
+            if (distanceSqr < this.bestDistanceSqr) {
+                this.bestDistanceSqr = distanceSqr;
+                this.best = new BlockPos(x, 0, z);
+            }
+        }
+    }
+}
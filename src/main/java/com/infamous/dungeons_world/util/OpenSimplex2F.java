@@ -1,4 +1,8 @@
 package com.infamous.dungeons_world.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * K.jpg's OpenSimplex 2, faster variant
  *
@@ -16,16 +20,23 @@ public class OpenSimplex2F {
     private static final int PSIZE = 2048;
     private static final int PMASK = 2047;
 
-    private short[] perm;
-    private Grad2[] permGrad2;
-    private Grad3[] permGrad3;
-    private Grad4[] permGrad4;
+    // Generators are looked up per world seed, and a world rarely has more than a handful of those.
+    private static final int MAX_CACHED_SEEDS = 16;
+    private static final Map<Long, OpenSimplex2F> CACHE = new ConcurrentHashMap<>();
+
+    private final short[] perm;
+    private final Grad2[] permGrad2;
+    // Filled on first use for generators from forSeed, the tables only depend on perm so a race just builds them twice.
+    private volatile Grad3[] permGrad3;
+    private volatile Grad4[] permGrad4;
 
     public OpenSimplex2F(long seed) {
+        this(seed, false);
+    }
+
+    private OpenSimplex2F(long seed, boolean lazy) {
         perm = new short[PSIZE];
         permGrad2 = new Grad2[PSIZE];
-        permGrad3 = new Grad3[PSIZE];
-        permGrad4 = new Grad4[PSIZE];
         short[] source = new short[PSIZE];
         for (short i = 0; i < PSIZE; i++)
             source[i] = i;
@@ -36,10 +47,60 @@ public class OpenSimplex2F {
                 r += (i + 1);
             perm[i] = source[r];
             permGrad2[i] = GRADIENTS_2D[perm[i]];
-            permGrad3[i] = GRADIENTS_3D[perm[i]];
-            permGrad4[i] = GRADIENTS_4D[perm[i]];
             source[r] = source[i];
         }
+        if (!lazy) {
+            permGrad3 = buildPermGrad3();
+            permGrad4 = buildPermGrad4();
+        }
+    }
+
+    /**
+     * A generator for the seed, shared with every other caller asking for the same seed.
+     * Its tables are never written after construction, so it is safe to use from any thread.
+     * Only the 2D tables are built up front, the 3D and 4D ones are built the first time a 3D or 4D evaluator runs.
+     */
+    public static OpenSimplex2F forSeed(long seed) {
+        OpenSimplex2F noise = CACHE.get(seed);
+        if (noise == null) {
+            if (CACHE.size() >= MAX_CACHED_SEEDS) {
+                CACHE.clear();
+            }
+            noise = CACHE.computeIfAbsent(seed, key -> new OpenSimplex2F(key, true));
+        }
+        return noise;
+    }
+
+    private Grad3[] getPermGrad3() {
+        Grad3[] table = permGrad3;
+        if (table == null) {
+            table = buildPermGrad3();
+            permGrad3 = table;
+        }
+        return table;
+    }
+
+    private Grad4[] getPermGrad4() {
+        Grad4[] table = permGrad4;
+        if (table == null) {
+            table = buildPermGrad4();
+            permGrad4 = table;
+        }
+        return table;
+    }
+
+    private Grad3[] buildPermGrad3() {
+        Grad3[] table = new Grad3[PSIZE];
+        for (int i = 0; i < PSIZE; i++)
+            table[i] = GRADIENTS_3D[perm[i]];
+        return table;
+    }
+
+    private Grad4[] buildPermGrad4() {
+        Grad4[] table = new Grad4[PSIZE];
+        for (int i = 0; i < PSIZE; i++)
+            table[i] = GRADIENTS_4D[perm[i]];
+        return table;
     }
 
     /*
@@ -187,6 +248,7 @@ public class OpenSimplex2F {
         int index = (xht << 0) | (yht << 1) | (zht << 2);
 
         // Point contributions
+        Grad3[] permGrad3 = getPermGrad3();
         double value = 0;
         LatticePoint3D c = LOOKUP_3D[index];
         while (c != null) {
@@ -267,6 +329,7 @@ public class OpenSimplex2F {
      * But still comes out slightly ahead of Gustavson's Simplex in tests.
      */
     private double noise4_Base(double xs, double ys, double zs, double ws) {
+        Grad4[] permGrad4 = getPermGrad4();
         double value = 0;
 
         // Get base points and offsets
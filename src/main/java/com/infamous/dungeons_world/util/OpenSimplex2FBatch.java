@@ -0,0 +1,181 @@
+package com.infamous.dungeons_world.util;
+
+/**
+ * The 2D noise of {@link OpenSimplex2F}, laid out for filling many samples at once.
+ *
+ * Gradients live in parallel float arrays instead of Grad2 objects, so a lookup is two array reads with no pointer chasing,
+ * and the three lattice points of a sample are unrolled and attenuated without branches.
+ * {@link #noise2Batch(double[], double[], double[])} splits the work into counted loops over primitive arrays,
+ * keeping the arithmetic C2 can vectorize apart from the gradient lookups it cannot.
+ *
+ * Coordinates stay in double, only the gradients are float. Results match {@link OpenSimplex2F#noise2(double, double)}
+ * for the same seed to within {@link #PARITY_TOLERANCE}.
+ */
+public class OpenSimplex2FBatch {
+    public static final double PARITY_TOLERANCE = 1.0E-5D;
+
+    private static final int PSIZE = 2048;
+    private static final int PMASK = 2047;
+    private static final double SKEW = 0.366025403784439;
+    private static final double UNSKEW = -0.211324865405187;
+    // Offsets of the lattice points (1, 1), (1, 0) and (0, 1) from the sample, (0, 0) has none.
+    private static final double DIAGONAL_OFFSET = -1.0D - 2.0D * UNSKEW;
+    private static final double EDGE_OFFSET_NEAR = -1.0D - UNSKEW;
+    private static final double EDGE_OFFSET_FAR = -UNSKEW;
+
+    private static final float[] GRADIENTS_2D_X = new float[PSIZE];
+    private static final float[] GRADIENTS_2D_Y = new float[PSIZE];
+    private static final ThreadLocal<Cells> CELLS = ThreadLocal.withInitial(Cells::new);
+
+    private final short[] perm = new short[PSIZE];
+    private final float[] permGradX = new float[PSIZE];
+    private final float[] permGradY = new float[PSIZE];
+
+    public OpenSimplex2FBatch(long seed) {
+        short[] source = new short[PSIZE];
+        for (short i = 0; i < PSIZE; i++) {
+            source[i] = i;
+        }
+        // Same shuffle as OpenSimplex2F, so both produce the same noise for a seed.
+        for (int i = PSIZE - 1; i >= 0; i--) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            int r = (int) ((seed + 31) % (i + 1));
+            if (r < 0) {
+                r += (i + 1);
+            }
+            this.perm[i] = source[r];
+            this.permGradX[i] = GRADIENTS_2D_X[this.perm[i]];
+            this.permGradY[i] = GRADIENTS_2D_Y[this.perm[i]];
+            source[r] = source[i];
+        }
+    }
+
+    /**
+     * 2D Simplex noise, standard lattice orientation.
+     */
+    public double noise2(double x, double y) {
+        double s = SKEW * (x + y);
+        return this.noise2Base(x + s, y + s);
+    }
+
+    /**
+     * Fills out[i] with {@link #noise2(double, double)} of (xs[i], zs[i]) for every index of out.
+     *
+     * The batch runs in two passes. The first only does the skew and floor arithmetic, straight-line code over primitive arrays
+     * that C2 can vectorize. The second does the gradient lookups, which it cannot, with the lattice cells already at hand.
+     */
+    public void noise2Batch(double[] xs, double[] zs, double[] out) {
+        int count = out.length;
+        if (xs.length < count || zs.length < count) {
+            throw new IllegalArgumentException("Need " + count + " coordinates, got " + xs.length + " x and " + zs.length + " z");
+        }
+        Cells cells = CELLS.get().ensureCapacity(count);
+        int[] cellXs = cells.cellXs;
+        int[] cellYs = cells.cellYs;
+        double[] offsetXs = cells.offsetXs;
+        double[] offsetYs = cells.offsetYs;
+        for (int i = 0; i < count; i++) {
+            double s = SKEW * (xs[i] + zs[i]);
+            double x = xs[i] + s;
+            double y = zs[i] + s;
+            int cellX = (int) Math.floor(x);
+            int cellY = (int) Math.floor(y);
+            cellXs[i] = cellX;
+            cellYs[i] = cellY;
+            offsetXs[i] = x - cellX;
+            offsetYs[i] = y - cellY;
+        }
+        for (int i = 0; i < count; i++) {
+            out[i] = this.noise2Cell(cellXs[i], cellYs[i], offsetXs[i], offsetYs[i]);
+        }
+    }
+
+    private double noise2Base(double xs, double ys) {
+        int xsb = fastFloor(xs);
+        int ysb = fastFloor(ys);
+        return this.noise2Cell(xsb, ysb, xs - xsb, ys - ysb);
+    }
+
+    private double noise2Cell(int xsb, int ysb, double xsi, double ysi) {
+        double ssi = (xsi + ysi) * UNSKEW;
+        double xi = xsi + ssi;
+        double yi = ysi + ssi;
+
+        // Every sample gets (0, 0) and (1, 1), plus (1, 0) below the diagonal of its cell or (0, 1) above it.
+        int above = (int) ((ysi - xsi) / 2 + 1);
+        double edgeDx = above == 0 ? EDGE_OFFSET_NEAR : EDGE_OFFSET_FAR;
+        double edgeDy = above == 0 ? EDGE_OFFSET_FAR : EDGE_OFFSET_NEAR;
+
+        return this.contribution(xsb, ysb, xi, yi)
+                + this.contribution(xsb + 1, ysb + 1, xi + DIAGONAL_OFFSET, yi + DIAGONAL_OFFSET)
+                + this.contribution(xsb + 1 - above, ysb + above, xi + edgeDx, yi + edgeDy);
+    }
+
+    private double contribution(int xsv, int ysv, double dx, double dy) {
+        double attn = Math.max(0.5D - dx * dx - dy * dy, 0.0D);
+        int index = this.perm[xsv & PMASK] ^ (ysv & PMASK);
+        double extrapolation = this.permGradX[index] * dx + this.permGradY[index] * dy;
+        attn *= attn;
+        return attn * attn * extrapolation;
+    }
+
+    /**
+     * Per-thread scratch for the first pass of a batch, grown to the largest batch seen.
+     */
+    private static final class Cells {
+        private int[] cellXs = new int[0];
+        private int[] cellYs = new int[0];
+        private double[] offsetXs = new double[0];
+        private double[] offsetYs = new double[0];
+
+        private Cells ensureCapacity(int count) {
+            if (this.cellXs.length < count) {
+                this.cellXs = new int[count];
+                this.cellYs = new int[count];
+                this.offsetXs = new double[count];
+                this.offsetYs = new double[count];
+            }
+            return this;
+        }
+    }
+
+    private static int fastFloor(double x) {
+        int xi = (int) x;
+        return x < xi ? xi - 1 : xi;
+    }
+
+    static {
+        double n2 = 0.01001634121365712;
+        double[] gradients = {
+                0.130526192220052,  0.99144486137381,
+                0.38268343236509,   0.923879532511287,
+                0.608761429008721,  0.793353340291235,
+                0.793353340291235,  0.608761429008721,
+                0.923879532511287,  0.38268343236509,
+                0.99144486137381,   0.130526192220051,
+                0.99144486137381,  -0.130526192220051,
+                0.923879532511287, -0.38268343236509,
+                0.793353340291235, -0.60876142900872,
+                0.608761429008721, -0.793353340291235,
+                0.38268343236509,  -0.923879532511287,
+                0.130526192220052, -0.99144486137381,
+                -0.130526192220052, -0.99144486137381,
+                -0.38268343236509,  -0.923879532511287,
+                -0.608761429008721, -0.793353340291235,
+                -0.793353340291235, -0.608761429008721,
+                -0.923879532511287, -0.38268343236509,
+                -0.99144486137381,  -0.130526192220052,
+                -0.99144486137381,   0.130526192220051,
+                -0.923879532511287,  0.38268343236509,
+                -0.793353340291235,  0.608761429008721,
+                -0.608761429008721,  0.793353340291235,
+                -0.38268343236509,   0.923879532511287,
+                -0.130526192220052,  0.99144486137381
+        };
+        int gradientCount = gradients.length / 2;
+        for (int i = 0; i < PSIZE; i++) {
+            GRADIENTS_2D_X[i] = (float) (gradients[(i % gradientCount) * 2] / n2);
+            GRADIENTS_2D_Y[i] = (float) (gradients[(i % gradientCount) * 2 + 1] / n2);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.infamous.dungeons_world.world.gen.feature;
 
+import com.infamous.dungeons_world.world.gen.profile.ProfiledStage;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
 import com.mojang.serialization.Codec;
 import net.minecraft.block.BlockState;
 import net.minecraft.tags.FluidTags;
@@ -16,11 +18,22 @@ import static com.infamous.dungeons_world.blocks.GlowingMushroomBlock.MUSHROOMS;
 import static com.infamous.dungeons_world.blocks.ModBlocks.FULL_GLOWING_MUSHROOM;
 
 public class GlowingMushroomsFeature extends Feature<MushroomBlockClusterFeatureConfig> {
+   private static final ProfiledStage PLACE_STAGE = WorldgenProfiler.stage("feature/glowing_mushrooms");
+
    public GlowingMushroomsFeature(Codec<MushroomBlockClusterFeatureConfig> p_i231979_1_) {
       super(p_i231979_1_);
    }
 
    public boolean place(ISeedReader world, ChunkGenerator chunkGenerator, Random random, BlockPos blockPos, MushroomBlockClusterFeatureConfig config) {
+      long start = PLACE_STAGE.start();
+      try {
+         return this.doPlace(world, random, blockPos, config);
+      } finally {
+         PLACE_STAGE.stop(start);
+      }
+   }
+
+   private boolean doPlace(ISeedReader world, Random random, BlockPos blockPos, MushroomBlockClusterFeatureConfig config) {
       BlockState blockstate = config.stateProvider.getState(random, blockPos);
       BlockPos blockpos;
       if (config.project) {
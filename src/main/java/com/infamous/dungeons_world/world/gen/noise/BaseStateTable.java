@@ -0,0 +1,74 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.world.biome.provider.BiomeProvider;
+
+import static net.minecraft.block.Blocks.AIR;
+
+/**
+ * Per-chunk solidity thresholds for the base-state pass of noise generation.
+ *
+ * A block is solid when its density is above the threshold of its column.
+ * Vanilla columns use 0. Creeper Woods columns range from 0.2 on low ground to -0.2 on high ground,
+ * following the high ground blend weights of the surrounding noise columns.
+ * Folding biome and high ground into one number per column leaves a single comparison per block.
+ */
+public class BaseStateTable {
+    public static final float VANILLA_THRESHOLD = 0.0F;
+    public static final float HIGH_GROUND_THRESHOLD = -0.2F;
+    public static final float LOW_GROUND_THRESHOLD = 0.2F;
+
+    private final float[] thresholds = new float[256];
+    private final boolean vanilla;
+
+    private BaseStateTable(boolean vanilla) {
+        this.vanilla = vanilla;
+    }
+
+    public static BaseStateTable compute(TerrainNoiseContext context, BiomeProvider biomeSource, int chunkX, int chunkZ, int seaLevel) {
+        QuartBiomeMask creeperWoods = TerrainBiomes.getCreeperWoodsMask(biomeSource, chunkX, chunkZ, seaLevel);
+        BaseStateTable table = new BaseStateTable(creeperWoods.isEmpty());
+        if (table.vanilla) {
+            return table;
+        }
+
+        // Blend weights on the 5x5 noise column corners around the chunk, interpolated like vanilla interpolates density.
+        float[] corners = new float[25];
+        for (int cellZ = 0; cellZ <= 4; cellZ++) {
+            for (int cellX = 0; cellX <= 4; cellX++) {
+                corners[cellZ * 5 + cellX] = context.getBlendWeight((chunkX << 2) + cellX, (chunkZ << 2) + cellZ);
+            }
+        }
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                float threshold = VANILLA_THRESHOLD;
+                if (creeperWoods.contains(x >> 2, z >> 2)) {
+                    int corner = (z >> 2) * 5 + (x >> 2);
+                    float dx = (x & 3) * 0.25F;
+                    float dz = (z & 3) * 0.25F;
+                    float north = corners[corner] + (corners[corner + 1] - corners[corner]) * dx;
+                    float south = corners[corner + 5] + (corners[corner + 6] - corners[corner + 5]) * dx;
+                    float weight = north + (south - north) * dz;
+                    threshold = LOW_GROUND_THRESHOLD + (HIGH_GROUND_THRESHOLD - LOW_GROUND_THRESHOLD) * weight;
+                }
+                table.thresholds[z << 4 | x] = threshold;
+            }
+        }
+        return table;
+    }
+
+    public boolean isVanilla() {
+        return this.vanilla;
+    }
+
+    public float getThreshold(int x, int z) {
+        return this.thresholds[(z & 15) << 4 | (x & 15)];
+    }
+
+    public BlockState getState(double noise, int x, int y, int z, int seaLevel, BlockState defaultBlock, BlockState defaultFluid) {
+        if (noise > this.getThreshold(x, z)) {
+            return defaultBlock;
+        }
+        return y < seaLevel ? defaultFluid : AIR.defaultBlockState();
+    }
+}
@@ -0,0 +1,98 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded cache of per-tile worldgen data keyed by an owner and a tile position.
+ *
+ * The cache is direct-mapped: each tile hashes to a single slot and replaces whatever was there before.
+ * Values must be immutable once created, so worldgen threads can share them without locking.
+ * A collision only costs a recompute of one tile.
+ * Owners are compared by identity, which lets one cache serve several biome sources or generators.
+ */
+public class ChunkTileCache<T> {
+    private static final int DEFAULT_SIZE = 1024;
+
+    private final AtomicReferenceArray<Entry<T>> slots;
+    private final int mask;
+
+    public ChunkTileCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    public ChunkTileCache(int size) {
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Cache size must be a power of two, was " + size);
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public T get(Object owner, int tileX, int tileZ, TileFactory<T> factory) {
+        T cached = this.getIfPresent(owner, tileX, tileZ);
+        if (cached != null) {
+            return cached;
+        }
+        T computed = factory.create(tileX, tileZ);
+        this.put(owner, tileX, tileZ, computed);
+        return computed;
+    }
+
+    @Nullable
+    public T getIfPresent(Object owner, int tileX, int tileZ) {
+        Entry<T> cached = this.slots.get(slot(owner, tileX, tileZ));
+        if (cached != null && cached.owner == owner && cached.tileX == tileX && cached.tileZ == tileZ) {
+            return cached.value;
+        }
+        return null;
+    }
+
+    public void put(Object owner, int tileX, int tileZ, T value) {
+        this.slots.set(slot(owner, tileX, tileZ), new Entry<>(owner, tileX, tileZ, value));
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.slots.length(); i++) {
+            this.slots.set(i, null);
+        }
+    }
+
+    /**
+     * Drops every tile of one owner, so the cache does not keep an owner that is gone alive until its slots get reused.
+     */
+    public void clear(Object owner) {
+        for (int i = 0; i < this.slots.length(); i++) {
+            Entry<T> cached = this.slots.get(i);
+            if (cached != null && cached.owner == owner) {
+                this.slots.compareAndSet(i, cached, null);
+            }
+        }
+    }
+
+    private int slot(Object owner, int tileX, int tileZ) {
+        long hash = System.identityHashCode(owner) ^ ((long) tileX * 0x9E3779B97F4A7C15L) ^ ((long) tileZ * 0xC2B2AE3D27D4EB4FL);
+        hash ^= hash >>> 32;
+        hash ^= hash >>> 16;
+        return (int) hash & this.mask;
+    }
+
+    @FunctionalInterface
+    public interface TileFactory<T> {
+        T create(int tileX, int tileZ);
+    }
+
+    private static final class Entry<T> {
+        private final Object owner;
+        private final int tileX;
+        private final int tileZ;
+        private final T value;
+
+        private Entry(Object owner, int tileX, int tileZ, T value) {
+            this.owner = owner;
+            this.tileX = tileX;
+            this.tileZ = tileZ;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import com.infamous.dungeons_world.mixin.NoiseChunkGeneratorInvoker;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledCounter;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.gen.ChunkGenerator;
+import net.minecraft.world.gen.Heightmap;
+
+import java.util.function.Predicate;
+
+/**
+ * Land height and top block fluid check of a single column, as used by structure placement checks.
+ *
+ * For noise generators both answers come from one pass of iterateNoiseColumn that stops at the first
+ * non-air block, instead of getFirstOccupiedHeight followed by a full getBaseColumn.
+ * Chunk centre probes are cached per generator, so structures checking the same chunk share one column.
+ */
+public class ColumnProbe {
+    private static final ChunkTileCache<ColumnProbe> CHUNK_CENTER_CACHE = new ChunkTileCache<>();
+    private static final ProfiledCounter CHUNK_CENTER_PROBE_COUNTER = WorldgenProfiler.counter("structure/placement_check/columns_probed");
+
+    private final int landHeight;
+    private final boolean topFluid;
+
+    public ColumnProbe(int landHeight, boolean topFluid) {
+        this.landHeight = landHeight;
+        this.topFluid = topFluid;
+    }
+
+    /**
+     * The probe of the centre column of a chunk, the one structure placement checks look at.
+     */
+    public static ColumnProbe probeChunkCenter(ChunkGenerator chunkGenerator, int chunkX, int chunkZ) {
+        ColumnProbe column = CHUNK_CENTER_CACHE.getIfPresent(chunkGenerator, chunkX, chunkZ);
+        if (column == null) {
+            column = probe(chunkGenerator, (chunkX << 4) + 7, (chunkZ << 4) + 7);
+            CHUNK_CENTER_CACHE.put(chunkGenerator, chunkX, chunkZ, column);
+            CHUNK_CENTER_PROBE_COUNTER.add(1);
+        }
+        return column;
+    }
+
+    /**
+     * Forgets the chunk centre probes of a generator whose world was unloaded.
+     */
+    public static void clearChunkCenters(ChunkGenerator chunkGenerator) {
+        CHUNK_CENTER_CACHE.clear(chunkGenerator);
+    }
+
+    /**
+     * Forgets every chunk centre probe, for when the terrain settings have changed.
+     */
+    public static void clearChunkCenters() {
+        CHUNK_CENTER_CACHE.clear();
+    }
+
+    public static ColumnProbe probe(ChunkGenerator chunkGenerator, int x, int z) {
+        if (chunkGenerator instanceof NoiseChunkGeneratorInvoker) {
+            Predicate<BlockState> occupied = Heightmap.Type.WORLD_SURFACE_WG.isOpaque();
+            BlockState[] topBlock = new BlockState[1];
+            int baseHeight = ((NoiseChunkGeneratorInvoker) chunkGenerator).dungeons_world_iterateNoiseColumn(x, z, null, blockState -> {
+                if (occupied.test(blockState)) {
+                    topBlock[0] = blockState;
+                    return true;
+                }
+                return false;
+            });
+            return new ColumnProbe(baseHeight - 1, topBlock[0] != null && !topBlock[0].getFluidState().isEmpty());
+        }
+        int landHeight = chunkGenerator.getFirstOccupiedHeight(x, z, Heightmap.Type.WORLD_SURFACE_WG);
+        BlockState topBlock = chunkGenerator.getBaseColumn(x, z).getBlockState(new BlockPos(x, landHeight, z));
+        return new ColumnProbe(landHeight, !topBlock.getFluidState().isEmpty());
+    }
+
+    public int getLandHeight() {
+        return this.landHeight;
+    }
+
+    public boolean isTopFluid() {
+        return this.topFluid;
+    }
+}
@@ -0,0 +1,35 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+/**
+ * High ground blend weights for the 4x4 noise columns of one chunk.
+ *
+ * A weight of 0 is low ground, 1 is high ground, and the values in between ease the terrain
+ * across the edge of a high ground region instead of stepping it.
+ * Noise columns are 4 blocks wide, so column (cellX, cellZ) is sampled at block (cellX * 4, cellZ * 4).
+ * Every column belongs to exactly one tile, so columns on a chunk border are never sampled twice.
+ */
+public class HighGroundBlendGrid {
+    private final float[] weights = new float[16];
+
+    private HighGroundBlendGrid() {
+    }
+
+    public static HighGroundBlendGrid compute(int tileX, int tileZ, WeightSampler sampler) {
+        HighGroundBlendGrid grid = new HighGroundBlendGrid();
+        for (int cellZ = 0; cellZ < 4; cellZ++) {
+            for (int cellX = 0; cellX < 4; cellX++) {
+                grid.weights[cellZ << 2 | cellX] = sampler.sample((tileX << 2) + cellX, (tileZ << 2) + cellZ);
+            }
+        }
+        return grid;
+    }
+
+    public float getWeight(int cellX, int cellZ) {
+        return this.weights[(cellZ & 3) << 2 | (cellX & 3)];
+    }
+
+    @FunctionalInterface
+    public interface WeightSampler {
+        float sample(int cellX, int cellZ);
+    }
+}
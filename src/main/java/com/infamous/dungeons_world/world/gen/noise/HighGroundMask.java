@@ -0,0 +1,37 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+/**
+ * A 16x16 bitmask of high ground columns for one chunk-sized tile.
+ * Bit (z << 4 | x) is set when the column at local x/z is high ground.
+ */
+public class HighGroundMask {
+    private final long[] bits = new long[4];
+
+    private HighGroundMask() {
+    }
+
+    public static HighGroundMask compute(int tileX, int tileZ, ColumnSampler sampler) {
+        HighGroundMask mask = new HighGroundMask();
+        int originX = tileX << 4;
+        int originZ = tileZ << 4;
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                if (sampler.isHighGround(originX + x, originZ + z)) {
+                    int index = z << 4 | x;
+                    mask.bits[index >>> 6] |= 1L << (index & 63);
+                }
+            }
+        }
+        return mask;
+    }
+
+    public boolean isHighGround(int x, int z) {
+        int index = (z & 15) << 4 | (x & 15);
+        return (this.bits[index >>> 6] >>> (index & 63) & 1L) != 0L;
+    }
+
+    @FunctionalInterface
+    public interface ColumnSampler {
+        boolean isHighGround(int x, int z);
+    }
+}
@@ -0,0 +1,40 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+/**
+ * The Creeper Woods path band of every column of one chunk, see {@link TerrainSettings#getPathBand(double)}
+ * and {@link TerrainSettings#getPathBandAtDistance(int)}.
+ */
+public class PathBandGrid {
+    private final byte[] bands = new byte[256];
+
+    private PathBandGrid() {
+    }
+
+    public static PathBandGrid compute(int chunkX, int chunkZ, TerrainSettings settings, SurfaceNoiseSampler sampler) {
+        PathBandGrid grid = new PathBandGrid();
+        int originX = chunkX << 4;
+        int originZ = chunkZ << 4;
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                grid.bands[z << 4 | x] = (byte) settings.getPathBand(sampler.sample(originX + x, originZ + z));
+            }
+        }
+        return grid;
+    }
+
+    public static PathBandGrid compute(int chunkX, int chunkZ, TerrainSettings settings, PathNetwork network) {
+        PathBandGrid grid = new PathBandGrid();
+        int originX = chunkX << 4;
+        int originZ = chunkZ << 4;
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                grid.bands[z << 4 | x] = (byte) settings.getPathBandAtDistance(network.getDistance(originX + x, originZ + z));
+            }
+        }
+        return grid;
+    }
+
+    public int getPathBand(int x, int z) {
+        return this.bands[(z & 15) << 4 | (x & 15)];
+    }
+}
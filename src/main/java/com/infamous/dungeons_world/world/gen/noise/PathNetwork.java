@@ -0,0 +1,221 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import java.util.Arrays;
+
+/**
+ * The Creeper Woods path network of one region, rasterized into the distance from every column to the nearest path.
+ *
+ * The region is split into cells of 64x64 blocks, and each cell gets one node at the lowest surface noise magnitude
+ * it contains, which is where the noise band paths run as well. The nodes of a region are joined by a minimum spanning tree
+ * whose edges cost the noise magnitude along them, so paths prefer the valleys of the noise.
+ * Each side of the region is crossed by the cheapest edge between the cells on either side of it.
+ *
+ * Nodes only depend on their cell and crossing edges only on the cells along the side, so the regions on both sides
+ * of a border agree on the edge crossing it without ever looking at each other's network.
+ * Nodes keep clear of the cell border by more than the widest path, so no other edge reaches into a neighbouring region.
+ */
+public class PathNetwork {
+    /**
+     * Distances are stored in quarter blocks.
+     */
+    public static final int DISTANCE_SCALE = 4;
+    /**
+     * The distance of columns further than {@link TerrainSettings#MAX_PATH_WIDTH} from every path.
+     */
+    public static final int FAR = 255;
+
+    private static final int CELL_SHIFT = 6;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+    private static final int CELLS = RegionNoiseTile.REGION_SIZE >> CELL_SHIFT;
+    private static final int NODE_MARGIN = 8;
+    private static final int NODE_STEP = 4;
+    private static final int EDGE_SAMPLES = 8;
+
+    private final int regionX;
+    private final int regionZ;
+    private final byte[] distances;
+
+    private PathNetwork(int regionX, int regionZ, byte[] distances) {
+        this.regionX = regionX;
+        this.regionZ = regionZ;
+        this.distances = distances;
+    }
+
+    public static PathNetwork compute(int regionX, int regionZ, SurfaceNoiseSampler sampler) {
+        // Nodes of the region's own cells plus the ring of cells around it, which the crossing edges lead to.
+        int side = CELLS + 2;
+        int[] nodeX = new int[side * side];
+        int[] nodeZ = new int[side * side];
+        int firstCellX = (regionX << RegionNoiseTile.REGION_SHIFT >> CELL_SHIFT) - 1;
+        int firstCellZ = (regionZ << RegionNoiseTile.REGION_SHIFT >> CELL_SHIFT) - 1;
+        for (int z = 0; z < side; z++) {
+            for (int x = 0; x < side; x++) {
+                placeNode(firstCellX + x, firstCellZ + z, sampler, nodeX, nodeZ, z * side + x);
+            }
+        }
+
+        byte[] distances = new byte[RegionNoiseTile.REGION_SIZE * RegionNoiseTile.REGION_SIZE];
+        Arrays.fill(distances, (byte) FAR);
+        int originX = regionX << RegionNoiseTile.REGION_SHIFT;
+        int originZ = regionZ << RegionNoiseTile.REGION_SHIFT;
+
+        int[] parents = spanningTree(nodeX, nodeZ, sampler);
+        for (int cell = 0; cell < CELLS * CELLS; cell++) {
+            if (parents[cell] >= 0) {
+                int from = ringIndex(parents[cell]);
+                int to = ringIndex(cell);
+                rasterize(distances, originX, originZ, nodeX[from], nodeZ[from], nodeX[to], nodeZ[to]);
+            }
+        }
+
+        // West, east, north and south crossings, always from the west or north cell so both regions sample the same edge.
+        for (int border = 0; border < 4; border++) {
+            double bestCost = Double.MAX_VALUE;
+            int bestFrom = -1;
+            int bestTo = -1;
+            for (int i = 0; i < CELLS; i++) {
+                int from;
+                int to;
+                switch (border) {
+                    case 0:
+                        from = (i + 1) * side;
+                        to = from + 1;
+                        break;
+                    case 1:
+                        from = (i + 1) * side + CELLS;
+                        to = from + 1;
+                        break;
+                    case 2:
+                        from = i + 1;
+                        to = from + side;
+                        break;
+                    default:
+                        from = CELLS * side + i + 1;
+                        to = from + side;
+                }
+                double cost = edgeCost(nodeX[from], nodeZ[from], nodeX[to], nodeZ[to], sampler);
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestFrom = from;
+                    bestTo = to;
+                }
+            }
+            rasterize(distances, originX, originZ, nodeX[bestFrom], nodeZ[bestFrom], nodeX[bestTo], nodeZ[bestTo]);
+        }
+        return new PathNetwork(regionX, regionZ, distances);
+    }
+
+    public int getRegionX() {
+        return this.regionX;
+    }
+
+    public int getRegionZ() {
+        return this.regionZ;
+    }
+
+    /**
+     * The distance from a column of this region to the nearest path, in 1/{@link #DISTANCE_SCALE} blocks, or {@link #FAR}.
+     */
+    public int getDistance(int x, int z) {
+        return this.distances[(z & (RegionNoiseTile.REGION_SIZE - 1)) << RegionNoiseTile.REGION_SHIFT | (x & (RegionNoiseTile.REGION_SIZE - 1))] & 0xFF;
+    }
+
+    private static int ringIndex(int cell) {
+        return (cell / CELLS + 1) * (CELLS + 2) + cell % CELLS + 1;
+    }
+
+    private static void placeNode(int cellX, int cellZ, SurfaceNoiseSampler sampler, int[] nodeX, int[] nodeZ, int index) {
+        int originX = cellX << CELL_SHIFT;
+        int originZ = cellZ << CELL_SHIFT;
+        double lowest = Double.MAX_VALUE;
+        for (int z = NODE_MARGIN; z <= CELL_SIZE - NODE_MARGIN; z += NODE_STEP) {
+            for (int x = NODE_MARGIN; x <= CELL_SIZE - NODE_MARGIN; x += NODE_STEP) {
+                double magnitude = Math.abs(sampler.sample(originX + x, originZ + z));
+                if (magnitude < lowest) {
+                    lowest = magnitude;
+                    nodeX[index] = originX + x;
+                    nodeZ[index] = originZ + z;
+                }
+            }
+        }
+    }
+
+    /**
+     * Prim's algorithm over the grid of the region's cells, each joined to its four neighbours.
+     * Returns the parent cell of every cell in the tree, -1 for the root.
+     */
+    private static int[] spanningTree(int[] nodeX, int[] nodeZ, SurfaceNoiseSampler sampler) {
+        int count = CELLS * CELLS;
+        int[] parents = new int[count];
+        double[] costs = new double[count];
+        boolean[] joined = new boolean[count];
+        Arrays.fill(parents, -1);
+        Arrays.fill(costs, Double.MAX_VALUE);
+        costs[0] = 0.0D;
+        for (int step = 0; step < count; step++) {
+            int next = -1;
+            for (int cell = 0; cell < count; cell++) {
+                if (!joined[cell] && (next < 0 || costs[cell] < costs[next])) {
+                    next = cell;
+                }
+            }
+            joined[next] = true;
+            int cellX = next % CELLS;
+            int cellZ = next / CELLS;
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbourX = cellX + (direction == 0 ? -1 : direction == 1 ? 1 : 0);
+                int neighbourZ = cellZ + (direction == 2 ? -1 : direction == 3 ? 1 : 0);
+                if (neighbourX < 0 || neighbourX >= CELLS || neighbourZ < 0 || neighbourZ >= CELLS) {
+                    continue;
+                }
+                int neighbour = neighbourZ * CELLS + neighbourX;
+                if (joined[neighbour]) {
+                    continue;
+                }
+                int from = ringIndex(next);
+                int to = ringIndex(neighbour);
+                double cost = edgeCost(nodeX[from], nodeZ[from], nodeX[to], nodeZ[to], sampler);
+                if (cost < costs[neighbour]) {
+                    costs[neighbour] = cost;
+                    parents[neighbour] = next;
+                }
+            }
+        }
+        return parents;
+    }
+
+    private static double edgeCost(int fromX, int fromZ, int toX, int toZ, SurfaceNoiseSampler sampler) {
+        double cost = 0.0D;
+        for (int i = 0; i < EDGE_SAMPLES; i++) {
+            double t = (i + 0.5D) / EDGE_SAMPLES;
+            cost += Math.abs(sampler.sample((int) Math.floor(fromX + (toX - fromX) * t), (int) Math.floor(fromZ + (toZ - fromZ) * t)));
+        }
+        return cost;
+    }
+
+    /**
+     * Lowers the distance of every column of the region within {@link TerrainSettings#MAX_PATH_WIDTH} of the edge.
+     */
+    private static void rasterize(byte[] distances, int originX, int originZ, int fromX, int fromZ, int toX, int toZ) {
+        int reach = (int) Math.ceil(TerrainSettings.MAX_PATH_WIDTH);
+        int minX = Math.max(Math.min(fromX, toX) - reach, originX);
+        int maxX = Math.min(Math.max(fromX, toX) + reach, originX + RegionNoiseTile.REGION_SIZE - 1);
+        int minZ = Math.max(Math.min(fromZ, toZ) - reach, originZ);
+        int maxZ = Math.min(Math.max(fromZ, toZ) + reach, originZ + RegionNoiseTile.REGION_SIZE - 1);
+        double dx = toX - fromX;
+        double dz = toZ - fromZ;
+        double lengthSquared = dx * dx + dz * dz;
+        for (int z = minZ; z <= maxZ; z++) {
+            for (int x = minX; x <= maxX; x++) {
+                double t = lengthSquared == 0.0D ? 0.0D : Math.max(0.0D, Math.min(1.0D, ((x - fromX) * dx + (z - fromZ) * dz) / lengthSquared));
+                double offsetX = x - (fromX + t * dx);
+                double offsetZ = z - (fromZ + t * dz);
+                int distance = (int) Math.min(FAR, Math.sqrt(offsetX * offsetX + offsetZ * offsetZ) * DISTANCE_SCALE);
+                int index = (z - originZ) << RegionNoiseTile.REGION_SHIFT | (x - originX);
+                if (distance < (distances[index] & 0xFF)) {
+                    distances[index] = (byte) distance;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import com.infamous.dungeons_world.DungeonsWorld;
+import net.minecraft.util.math.ChunkPos;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@link PathNetwork}s of one {@link TerrainNoiseContext}, keeping the most recently used regions.
+ *
+ * Networks are only ever built on the region noise threads. The first chunk to need a region queues it there
+ * together with the four regions around it, so chunk generation moving outward finds its next region ready.
+ * Until a network is done, and when building it failed, chunks get null and fall back to noise band paths.
+ * A failed network is dropped so a later chunk retries it.
+ *
+ * Networks count against the region noise memory budget, taking at most half of it across all seeds.
+ * Eviction picks the least recently used network of any seed, but each seed keeps a few regions past the budget,
+ * as chunk generation would otherwise queue the same networks over and over.
+ */
+final class PathNetworkCache {
+    static final long NETWORK_BYTES = (long) RegionNoiseTile.REGION_SIZE * RegionNoiseTile.REGION_SIZE;
+    // The region of a chunk and its four neighbours.
+    private static final int MIN_REGIONS = 5;
+    // Shared by every seed, so access times compare across caches.
+    private static final AtomicLong CLOCK = new AtomicLong();
+
+    private final TerrainNoiseContext context;
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicBoolean failureLogged = new AtomicBoolean();
+
+    PathNetworkCache(TerrainNoiseContext context) {
+        this.context = context;
+    }
+
+    /**
+     * The network of a region, or null while it is still being built or when it could not be built.
+     */
+    @Nullable
+    PathNetwork get(int regionX, int regionZ) {
+        Slot slot = this.slots.get(ChunkPos.asLong(regionX, regionZ));
+        if (slot == null) {
+            slot = this.submit(regionX, regionZ);
+            this.prefetch(regionX - 1, regionZ);
+            this.prefetch(regionX + 1, regionZ);
+            this.prefetch(regionX, regionZ - 1);
+            this.prefetch(regionX, regionZ + 1);
+        }
+        slot.lastAccess = CLOCK.incrementAndGet();
+        return slot.network.isCompletedExceptionally() ? null : slot.network.getNow(null);
+    }
+
+    int size() {
+        return this.slots.size();
+    }
+
+    private void prefetch(int regionX, int regionZ) {
+        if (!this.slots.containsKey(ChunkPos.asLong(regionX, regionZ))) {
+            this.submit(regionX, regionZ);
+        }
+    }
+
+    private Slot submit(int regionX, int regionZ) {
+        long key = ChunkPos.asLong(regionX, regionZ);
+        Slot created = new Slot();
+        Slot existing = this.slots.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        created.lastAccess = CLOCK.incrementAndGet();
+        CompletableFuture.runAsync(() -> this.compute(key, regionX, regionZ, created), RegionNoiseService.getExecutor());
+        return created;
+    }
+
+    private void compute(long key, int regionX, int regionZ, Slot slot) {
+        try {
+            slot.network.complete(PathNetwork.compute(regionX, regionZ, this.context.getDirectSampler()));
+        } catch (Throwable error) {
+            slot.network.completeExceptionally(error);
+            this.slots.remove(key, slot);
+            if (this.failureLogged.compareAndSet(false, true)) {
+                DungeonsWorld.LOGGER.error("Failed to compute the Creeper Woods path network of region {}, {}, falling back to noise band paths where networks fail", regionX, regionZ, error);
+            }
+            return;
+        }
+        evictToBudget(TerrainNoiseContext.getPathNetworkCaches());
+    }
+
+    private static void evictToBudget(Collection<PathNetworkCache> caches) {
+        long bytes = 0L;
+        for (PathNetworkCache cache : caches) {
+            bytes += cache.size() * NETWORK_BYTES;
+        }
+        long budget = RegionNoiseService.getPathNetworkBudget();
+        // Same trade as the region noise tiles: few large entries, so a linear scan on insert beats ordering every read.
+        while (bytes > budget) {
+            PathNetworkCache oldestCache = null;
+            Map.Entry<Long, Slot> oldest = null;
+            for (PathNetworkCache cache : caches) {
+                if (cache.size() <= MIN_REGIONS) {
+                    continue;
+                }
+                for (Map.Entry<Long, Slot> entry : cache.slots.entrySet()) {
+                    Slot slot = entry.getValue();
+                    if (slot.network.isDone() && (oldest == null || slot.lastAccess < oldest.getValue().lastAccess)) {
+                        oldestCache = cache;
+                        oldest = entry;
+                    }
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            if (oldestCache.slots.remove(oldest.getKey(), oldest.getValue())) {
+                bytes -= NETWORK_BYTES;
+            }
+        }
+    }
+
+    private static final class Slot {
+        private final CompletableFuture<PathNetwork> network = new CompletableFuture<>();
+        private volatile long lastAccess;
+    }
+}
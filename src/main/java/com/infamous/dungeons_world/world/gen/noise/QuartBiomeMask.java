@@ -0,0 +1,40 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.provider.BiomeProvider;
+
+import java.util.function.Predicate;
+
+/**
+ * Marks which of the 4x4 quart columns of a chunk match a biome.
+ * Bit (quartZ << 2 | quartX) is set when the column matches.
+ */
+public class QuartBiomeMask {
+    private final int bits;
+
+    private QuartBiomeMask(int bits) {
+        this.bits = bits;
+    }
+
+    public static QuartBiomeMask compute(BiomeProvider biomeSource, int chunkX, int chunkZ, int quartY, Predicate<Biome> predicate) {
+        int bits = 0;
+        int originX = chunkX << 2;
+        int originZ = chunkZ << 2;
+        for (int quartZ = 0; quartZ < 4; quartZ++) {
+            for (int quartX = 0; quartX < 4; quartX++) {
+                if (predicate.test(biomeSource.getNoiseBiome(originX + quartX, quartY, originZ + quartZ))) {
+                    bits |= 1 << (quartZ << 2 | quartX);
+                }
+            }
+        }
+        return new QuartBiomeMask(bits);
+    }
+
+    public boolean contains(int quartX, int quartZ) {
+        return (this.bits >>> ((quartZ & 3) << 2 | (quartX & 3)) & 1) != 0;
+    }
+
+    public boolean isEmpty() {
+        return this.bits == 0;
+    }
+}
@@ -0,0 +1,47 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.BiomeContainer;
+
+import java.util.function.Predicate;
+
+/**
+ * Marks which of the 4x4x4 biome cells of a chunk match a biome.
+ * Each of the 4x4 quart columns gets a long in which bit quartY is set when that cell matches,
+ * so a builder can find the matching vertical ranges of a column with a few bit operations.
+ */
+public class QuartBiomeVolume {
+    private static final int QUART_HEIGHT = 64;
+
+    private final long[] columns = new long[16];
+    private final boolean empty;
+
+    private QuartBiomeVolume(BiomeContainer biomes, Predicate<Biome> predicate) {
+        boolean empty = true;
+        for (int quartZ = 0; quartZ < 4; quartZ++) {
+            for (int quartX = 0; quartX < 4; quartX++) {
+                long column = 0L;
+                for (int quartY = 0; quartY < QUART_HEIGHT; quartY++) {
+                    if (predicate.test(biomes.getNoiseBiome(quartX, quartY, quartZ))) {
+                        column |= 1L << quartY;
+                    }
+                }
+                this.columns[quartZ << 2 | quartX] = column;
+                empty &= column == 0L;
+            }
+        }
+        this.empty = empty;
+    }
+
+    public static QuartBiomeVolume compute(BiomeContainer biomes, Predicate<Biome> predicate) {
+        return new QuartBiomeVolume(biomes, predicate);
+    }
+
+    public long getColumn(int quartX, int quartZ) {
+        return this.columns[(quartZ & 3) << 2 | (quartX & 3)];
+    }
+
+    public boolean isEmpty() {
+        return this.empty;
+    }
+}
@@ -0,0 +1,195 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import com.infamous.dungeons_world.DungeonsWorld;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Precomputes {@link RegionNoiseTile}s in the background and keeps the most recently used ones within a memory budget.
+ *
+ * Worldgen threads never wait on this service. A lookup that misses queues the region
+ * and the caller samples the noise directly until the tile is ready,
+ * which keeps normal play unaffected while pregeneration walking whole regions gets to reuse the tiles.
+ */
+public final class RegionNoiseService {
+    private static final Map<RegionKey, RegionNoiseTile> TILES = new ConcurrentHashMap<>();
+    private static final Map<RegionKey, CompletableFuture<RegionNoiseTile>> PENDING = new ConcurrentHashMap<>();
+    private static final AtomicLong CLOCK = new AtomicLong();
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+    private static volatile long maxBytes;
+    @Nullable
+    private static volatile ExecutorService executor;
+
+    private RegionNoiseService() {
+    }
+
+    public static void setMemoryBudget(int megabytes) {
+        maxBytes = (long) megabytes << 20;
+        evictToBudget();
+    }
+
+    public static boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * Returns the tile of a region if it has been precomputed, queueing it otherwise.
+     */
+    @Nullable
+    public static RegionNoiseTile getIfPresent(long seed, int regionX, int regionZ) {
+        if (!isEnabled()) {
+            return null;
+        }
+        RegionKey key = new RegionKey(seed, regionX, regionZ);
+        RegionNoiseTile tile = TILES.get(key);
+        if (tile != null) {
+            tile.touch(CLOCK.get());
+            return tile;
+        }
+        precompute(key);
+        return null;
+    }
+
+    /**
+     * Queues a region for precomputation, for pregeneration jobs that know which regions they are about to visit.
+     */
+    public static CompletableFuture<RegionNoiseTile> prefetch(long seed, int regionX, int regionZ) {
+        if (!isEnabled()) {
+            CompletableFuture<RegionNoiseTile> disabled = new CompletableFuture<>();
+            disabled.completeExceptionally(new IllegalStateException("Region noise precomputation is disabled"));
+            return disabled;
+        }
+        RegionKey key = new RegionKey(seed, regionX, regionZ);
+        RegionNoiseTile tile = TILES.get(key);
+        return tile != null ? CompletableFuture.completedFuture(tile) : precompute(key);
+    }
+
+    public static int getCachedRegions() {
+        return TILES.size();
+    }
+
+    /**
+     * Drops every tile, including the ones still being computed, for when the noise they sampled has changed.
+     */
+    public static void clear() {
+        GENERATION.incrementAndGet();
+        TILES.clear();
+    }
+
+    private static CompletableFuture<RegionNoiseTile> precompute(RegionKey key) {
+        CompletableFuture<RegionNoiseTile> pending = PENDING.get(key);
+        if (pending != null) {
+            return pending;
+        }
+        // Publish the future before starting the work, so the cleanup below never runs while the map is still inserting it.
+        CompletableFuture<RegionNoiseTile> created = new CompletableFuture<>();
+        pending = PENDING.putIfAbsent(key, created);
+        if (pending != null) {
+            return pending;
+        }
+        int generation = GENERATION.get();
+        CompletableFuture.supplyAsync(() -> {
+            TerrainNoiseContext context = TerrainNoiseContext.forSeed(key.seed);
+            return RegionNoiseTile.compute(key.regionX, key.regionZ, context::sampleSurfaceNoiseDirect);
+        }, getExecutor()).whenComplete((tile, error) -> {
+            if (error != null) {
+                DungeonsWorld.LOGGER.error("Failed to precompute surface noise for region {}, {}", key.regionX, key.regionZ, error);
+            } else if (isEnabled() && generation == GENERATION.get()) {
+                tile.touch(CLOCK.incrementAndGet());
+                TILES.put(key, tile);
+                evictToBudget();
+            }
+            PENDING.remove(key, created);
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else {
+                created.complete(tile);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * The part of the memory budget Creeper Woods path networks may take, the tiles get whatever the networks leave over.
+     */
+    static long getPathNetworkBudget() {
+        return maxBytes / 2;
+    }
+
+    private static void evictToBudget() {
+        long tileBudget = maxBytes - TerrainNoiseContext.getCachedPathNetworkBytes();
+        // Tiles are large and few, a linear scan for the least recently used one is cheaper than keeping an ordered structure up to date on every read.
+        while ((long) TILES.size() * RegionNoiseTile.SIZE_BYTES > tileBudget) {
+            RegionKey oldestKey = null;
+            long oldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<RegionKey, RegionNoiseTile> entry : TILES.entrySet()) {
+                long lastAccess = entry.getValue().getLastAccess();
+                if (lastAccess < oldestAccess) {
+                    oldestAccess = lastAccess;
+                    oldestKey = entry.getKey();
+                }
+            }
+            if (oldestKey == null) {
+                return;
+            }
+            TILES.remove(oldestKey);
+        }
+    }
+
+    static ExecutorService getExecutor() {
+        ExecutorService service = executor;
+        if (service == null) {
+            synchronized (RegionNoiseService.class) {
+                service = executor;
+                if (service == null) {
+                    int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+                    AtomicInteger count = new AtomicInteger();
+                    service = Executors.newFixedThreadPool(threads, runnable -> {
+                        Thread thread = new Thread(runnable, "Dungeons World Region Noise #" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        thread.setPriority(Thread.MIN_PRIORITY);
+                        return thread;
+                    });
+                    executor = service;
+                }
+            }
+        }
+        return service;
+    }
+
+    private static final class RegionKey {
+        private final long seed;
+        private final int regionX;
+        private final int regionZ;
+
+        private RegionKey(long seed, int regionX, int regionZ) {
+            this.seed = seed;
+            this.regionX = regionX;
+            this.regionZ = regionZ;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RegionKey)) {
+                return false;
+            }
+            RegionKey other = (RegionKey) o;
+            return this.seed == other.seed && this.regionX == other.regionX && this.regionZ == other.regionZ;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Long.hashCode(this.seed) + this.regionX) + this.regionZ;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+/**
+ * Creeper Woods surface noise for one region of 32x32 chunks, stored as one short per block column.
+ *
+ * The high ground and path fields are both bands of this one noise, so a single tile serves both.
+ * Direct samples are run through the same quantization as tiles,
+ * so the generated terrain never depends on whether a region was precomputed in time.
+ */
+public class RegionNoiseTile implements SurfaceNoiseSampler {
+    public static final int REGION_SHIFT = 9;
+    public static final int REGION_SIZE = 1 << REGION_SHIFT;
+    public static final long SIZE_BYTES = (long) REGION_SIZE * REGION_SIZE * Short.BYTES;
+
+    private static final double QUANTIZE_SCALE = Short.MAX_VALUE;
+
+    private final int regionX;
+    private final int regionZ;
+    private final short[] values;
+    private volatile long lastAccess;
+
+    private RegionNoiseTile(int regionX, int regionZ, short[] values) {
+        this.regionX = regionX;
+        this.regionZ = regionZ;
+        this.values = values;
+    }
+
+    public static RegionNoiseTile compute(int regionX, int regionZ, SurfaceNoiseSampler sampler) {
+        short[] values = new short[REGION_SIZE * REGION_SIZE];
+        int originX = regionX << REGION_SHIFT;
+        int originZ = regionZ << REGION_SHIFT;
+        for (int z = 0; z < REGION_SIZE; z++) {
+            int row = z << REGION_SHIFT;
+            for (int x = 0; x < REGION_SIZE; x++) {
+                values[row | x] = quantize(sampler.sample(originX + x, originZ + z));
+            }
+        }
+        return new RegionNoiseTile(regionX, regionZ, values);
+    }
+
+    public static short quantize(double noise) {
+        return (short) Math.round(Math.max(-1.0D, Math.min(1.0D, noise)) * QUANTIZE_SCALE);
+    }
+
+    public static double dequantize(short value) {
+        return value / QUANTIZE_SCALE;
+    }
+
+    public int getRegionX() {
+        return this.regionX;
+    }
+
+    public int getRegionZ() {
+        return this.regionZ;
+    }
+
+    @Override
+    public double sample(int x, int z) {
+        return dequantize(this.values[(z & (REGION_SIZE - 1)) << REGION_SHIFT | (x & (REGION_SIZE - 1))]);
+    }
+
+    long getLastAccess() {
+        return this.lastAccess;
+    }
+
+    void touch(long tick) {
+        // Plain write, losing a race here only makes the eviction order slightly less exact.
+        if (this.lastAccess != tick) {
+            this.lastAccess = tick;
+        }
+    }
+}
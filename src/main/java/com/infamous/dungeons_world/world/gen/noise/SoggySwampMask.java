@@ -0,0 +1,60 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import com.infamous.dungeons_world.util.OpenSimplex2F;
+
+/**
+ * Which columns of one chunk of Soggy Swamp are dry ground, mud or standing water, computed in a single pass over the chunk.
+ *
+ * The water table is a low frequency noise with some detail on top, so pools come in clusters with ragged shores,
+ * and a second, offset noise spreads patches of mud over the dry ground.
+ * Whether a wet column actually holds water is left to the surface builder, which knows the height of the ground.
+ */
+public class SoggySwampMask {
+    public static final int DRY = 0;
+    public static final int MUD = 1;
+    public static final int WET = 2;
+
+    private static final double WATER_TABLE_FREQUENCY = 0.035D;
+    private static final double WATER_TABLE_DETAIL_FREQUENCY = 0.14D;
+    private static final double WATER_TABLE_DETAIL = 0.25D;
+    private static final double WET_THRESHOLD = 0.1D;
+    private static final double MUD_FREQUENCY = 0.06D;
+    private static final double MUD_OFFSET = 4096.0D;
+    private static final double MUD_THRESHOLD = 0.35D;
+    // The shore of every pool is mud too, so water never borders grass directly.
+    private static final double SHORE_WIDTH = 0.12D;
+
+    private final byte[] kinds = new byte[256];
+
+    private SoggySwampMask() {
+    }
+
+    public static SoggySwampMask compute(int chunkX, int chunkZ, OpenSimplex2F noiseGen) {
+        SoggySwampMask mask = new SoggySwampMask();
+        int originX = chunkX << 4;
+        int originZ = chunkZ << 4;
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                int blockX = originX + x;
+                int blockZ = originZ + z;
+                double waterTable = noiseGen.noise2(blockX * WATER_TABLE_FREQUENCY, blockZ * WATER_TABLE_FREQUENCY)
+                        + WATER_TABLE_DETAIL * noiseGen.noise2(blockX * WATER_TABLE_DETAIL_FREQUENCY, blockZ * WATER_TABLE_DETAIL_FREQUENCY);
+                int kind;
+                if (waterTable > WET_THRESHOLD) {
+                    kind = WET;
+                } else if (waterTable > WET_THRESHOLD - SHORE_WIDTH
+                        || noiseGen.noise2(blockX * MUD_FREQUENCY + MUD_OFFSET, blockZ * MUD_FREQUENCY + MUD_OFFSET) > MUD_THRESHOLD) {
+                    kind = MUD;
+                } else {
+                    kind = DRY;
+                }
+                mask.kinds[z << 4 | x] = (byte) kind;
+            }
+        }
+        return mask;
+    }
+
+    public int getKind(int x, int z) {
+        return this.kinds[(z & 15) << 4 | (x & 15)];
+    }
+}
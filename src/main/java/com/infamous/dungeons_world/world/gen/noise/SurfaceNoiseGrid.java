@@ -0,0 +1,31 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+/**
+ * The quantized Creeper Woods surface noise of every column of one chunk.
+ *
+ * This is the one place a chunk's columns are sampled: the high ground mask, the blend weights of the terrain
+ * and the path bands of the surface builders are all derived from it, so each column is sampled at most once per chunk.
+ */
+public class SurfaceNoiseGrid implements SurfaceNoiseSampler {
+    private final short[] values = new short[256];
+
+    private SurfaceNoiseGrid() {
+    }
+
+    public static SurfaceNoiseGrid compute(int chunkX, int chunkZ, SurfaceNoiseSampler sampler) {
+        SurfaceNoiseGrid grid = new SurfaceNoiseGrid();
+        int originX = chunkX << 4;
+        int originZ = chunkZ << 4;
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                grid.values[z << 4 | x] = RegionNoiseTile.quantize(sampler.sample(originX + x, originZ + z));
+            }
+        }
+        return grid;
+    }
+
+    @Override
+    public double sample(int x, int z) {
+        return RegionNoiseTile.dequantize(this.values[(z & 15) << 4 | (x & 15)]);
+    }
+}
@@ -0,0 +1,9 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+/**
+ * Samples the Creeper Woods surface noise at a block column.
+ */
+@FunctionalInterface
+public interface SurfaceNoiseSampler {
+    double sample(int x, int z);
+}
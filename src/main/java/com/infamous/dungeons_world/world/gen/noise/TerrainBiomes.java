@@ -0,0 +1,72 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.registry.DynamicRegistries;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.provider.BiomeProvider;
+
+import javax.annotation.Nullable;
+
+import static com.infamous.dungeons_world.Util.ModLoc;
+
+/**
+ * Biome lookups for the terrain callbacks.
+ *
+ * The Creeper Woods and Spider Caves biomes are resolved from the server's dynamic registry when a world loads,
+ * so the hot paths can compare biomes by identity instead of by registry name.
+ * Per-chunk quart masks mean the biome source is queried at most 16 times per chunk.
+ * Callers always sample at sea level, so the masks are keyed by biome source and chunk only.
+ */
+public class TerrainBiomes {
+    public static final RegistryKey<Biome> CREEPER_WOODS = RegistryKey.create(Registry.BIOME_REGISTRY, ModLoc("creeper_woods"));
+    public static final RegistryKey<Biome> SPIDER_CAVES = RegistryKey.create(Registry.BIOME_REGISTRY, ModLoc("spider_caves"));
+
+    private static final ChunkTileCache<QuartBiomeMask> CREEPER_WOODS_QUARTS = new ChunkTileCache<>();
+
+    @Nullable
+    private static volatile Biome creeperWoods;
+    @Nullable
+    private static volatile Biome spiderCaves;
+
+    public static void resolve(DynamicRegistries registries) {
+        creeperWoods = registries.registryOrThrow(Registry.BIOME_REGISTRY).get(CREEPER_WOODS);
+        spiderCaves = registries.registryOrThrow(Registry.BIOME_REGISTRY).get(SPIDER_CAVES);
+        CREEPER_WOODS_QUARTS.clear();
+    }
+
+    /**
+     * Forgets the quart masks of a biome source whose world was unloaded.
+     */
+    public static void clearMasks(BiomeProvider biomeSource) {
+        CREEPER_WOODS_QUARTS.clear(biomeSource);
+    }
+
+    public static boolean isCreeperWoods(Biome biome) {
+        return matches(biome, creeperWoods, CREEPER_WOODS);
+    }
+
+    public static boolean isSpiderCaves(Biome biome) {
+        return matches(biome, spiderCaves, SPIDER_CAVES);
+    }
+
+    private static boolean matches(Biome biome, @Nullable Biome resolved, RegistryKey<Biome> key) {
+        if (resolved != null) {
+            return biome == resolved;
+        }
+        return key.location().equals(biome.getRegistryName());
+    }
+
+    public static boolean isCreeperWoods(BiomeProvider biomeSource, int quartX, int quartY, int quartZ) {
+        return getCreeperWoodsMask(biomeSource, quartX >> 2, quartZ >> 2, quartY).contains(quartX, quartZ);
+    }
+
+    public static QuartBiomeMask getCreeperWoodsMask(BiomeProvider biomeSource, int chunkX, int chunkZ, int quartY) {
+        QuartBiomeMask mask = CREEPER_WOODS_QUARTS.getIfPresent(biomeSource, chunkX, chunkZ);
+        if (mask == null) {
+            mask = QuartBiomeMask.compute(biomeSource, chunkX, chunkZ, quartY, TerrainBiomes::isCreeperWoods);
+            CREEPER_WOODS_QUARTS.put(biomeSource, chunkX, chunkZ, mask);
+        }
+        return mask;
+    }
+}
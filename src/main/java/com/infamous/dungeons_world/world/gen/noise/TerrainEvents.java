@@ -0,0 +1,29 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import com.infamous.dungeons_world.DungeonsWorld;
+import net.minecraft.world.gen.ChunkGenerator;
+import net.minecraft.world.server.ServerWorld;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+@Mod.EventBusSubscriber(modid = DungeonsWorld.MODID)
+public class TerrainEvents {
+
+    @SubscribeEvent
+    public static void onWorldLoad(WorldEvent.Load event){
+        if(event.getWorld() instanceof ServerWorld){
+            TerrainBiomes.resolve(((ServerWorld) event.getWorld()).registryAccess());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event){
+        if(event.getWorld() instanceof ServerWorld){
+            ChunkGenerator generator = ((ServerWorld) event.getWorld()).getChunkSource().getGenerator();
+            TerrainBiomes.clearMasks(generator.getBiomeSource());
+            TerrainNoiseContext.clearBaseStateTables(generator);
+            ColumnProbe.clearChunkCenters(generator);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import com.infamous.dungeons_world.util.OpenSimplex2F;
+import net.minecraft.world.gen.ChunkGenerator;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable noise state for one world seed, shared by every worldgen thread.
+ *
+ * Contexts are created once per seed and looked up through {@link #forSeed(long)},
+ * so dimensions with different seeds can generate side by side. The {@link OpenSimplex2F}
+ * comes from {@link OpenSimplex2F#forSeed(long)}, so changing the terrain settings does not rebuild its permutation tables.
+ */
+public final class TerrainNoiseContext {
+    private static final int MAX_CONTEXTS = 16;
+    private static final Map<Long, TerrainNoiseContext> CONTEXTS = new ConcurrentHashMap<>();
+
+    private static final double HIGH_GROUND_BLEND_WIDTH = 0.1D;
+    private static volatile TerrainSettings settings = TerrainSettings.DEFAULT;
+    // Almost every lookup is for the seed of the last one, this answers those without boxing the seed for the map.
+    private static volatile TerrainNoiseContext lastContext;
+
+    private final long seed;
+    private final TerrainSettings terrainSettings;
+    private final OpenSimplex2F noiseGen;
+    private final SurfaceNoiseSampler directSampler = (x, z) -> RegionNoiseTile.dequantize(RegionNoiseTile.quantize(this.sampleSurfaceNoiseDirect(x, z)));
+    private final ChunkTileCache<SurfaceNoiseGrid> surfaceNoiseCache = new ChunkTileCache<>();
+    private final ChunkTileCache.TileFactory<SurfaceNoiseGrid> surfaceNoiseFactory = (tileX, tileZ) ->
+            SurfaceNoiseGrid.compute(tileX, tileZ, this.getSurfaceNoiseSampler(tileX >> (RegionNoiseTile.REGION_SHIFT - 4), tileZ >> (RegionNoiseTile.REGION_SHIFT - 4)));
+    private final ChunkTileCache<HighGroundMask> highGroundCache = new ChunkTileCache<>();
+    private final ChunkTileCache.TileFactory<HighGroundMask> highGroundFactory = (tileX, tileZ) -> {
+        SurfaceNoiseGrid grid = this.getSurfaceNoiseGrid(tileX, tileZ);
+        return HighGroundMask.compute(tileX, tileZ, (x, z) -> this.terrainSettings.isHighGround(grid.sample(x, z)));
+    };
+    private final ChunkTileCache<HighGroundBlendGrid> blendCache = new ChunkTileCache<>();
+    private final ChunkTileCache.TileFactory<HighGroundBlendGrid> blendFactory = (tileX, tileZ) -> {
+        SurfaceNoiseGrid grid = this.getSurfaceNoiseGrid(tileX, tileZ);
+        return HighGroundBlendGrid.compute(tileX, tileZ, (cellX, cellZ) -> this.blendWeight(grid.sample(cellX << 2, cellZ << 2)));
+    };
+    private final ChunkTileCache<BaseStateTable> baseStateCache = new ChunkTileCache<>();
+    private final ChunkTileCache<PathBandGrid> pathBandCache = new ChunkTileCache<>();
+    private final ChunkTileCache.TileFactory<PathBandGrid> pathBandFactory = (tileX, tileZ) -> {
+        PathNetwork network = this.terrainSettings.isPathNetwork()
+                ? this.getPathNetwork(tileX >> (RegionNoiseTile.REGION_SHIFT - 4), tileZ >> (RegionNoiseTile.REGION_SHIFT - 4))
+                : null;
+        return network != null
+                ? PathBandGrid.compute(tileX, tileZ, this.terrainSettings, network)
+                : PathBandGrid.compute(tileX, tileZ, this.terrainSettings, this.getSurfaceNoiseGrid(tileX, tileZ));
+    };
+    private final PathNetworkCache pathNetworks = new PathNetworkCache(this);
+    private final ChunkTileCache<SoggySwampMask> soggySwampCache = new ChunkTileCache<>();
+    private final ChunkTileCache.TileFactory<SoggySwampMask> soggySwampFactory = (tileX, tileZ) -> SoggySwampMask.compute(tileX, tileZ, this.noiseGen);
+
+    private TerrainNoiseContext(long seed, TerrainSettings terrainSettings) {
+        this.seed = seed;
+        this.terrainSettings = terrainSettings;
+        this.noiseGen = OpenSimplex2F.forSeed(seed);
+    }
+
+    public static TerrainNoiseContext forSeed(long seed) {
+        TerrainNoiseContext context = lastContext;
+        if (context != null && context.seed == seed && context.terrainSettings == settings) {
+            return context;
+        }
+        context = CONTEXTS.get(seed);
+        if (context == null) {
+            if (CONTEXTS.size() >= MAX_CONTEXTS) {
+                // Seeds only pile up when a client hops between many singleplayer worlds, start over when that happens.
+                CONTEXTS.clear();
+            }
+            context = CONTEXTS.computeIfAbsent(seed, key -> new TerrainNoiseContext(key, settings));
+        }
+        lastContext = context;
+        return context;
+    }
+
+    public static TerrainSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Swaps the terrain settings, dropping every context and precomputed region built from the previous ones.
+     */
+    public static void setSettings(TerrainSettings terrainSettings) {
+        if (!settings.equals(terrainSettings)) {
+            settings = terrainSettings;
+            CONTEXTS.clear();
+            lastContext = null;
+            RegionNoiseService.clear();
+        }
+    }
+
+    /**
+     * Forgets the base state tables of a generator whose world was unloaded, in every context.
+     */
+    public static void clearBaseStateTables(ChunkGenerator generator) {
+        for (TerrainNoiseContext context : CONTEXTS.values()) {
+            context.baseStateCache.clear(generator);
+        }
+    }
+
+    /**
+     * Memory taken by the path networks of every live context, counted against the region noise budget.
+     */
+    static long getCachedPathNetworkBytes() {
+        long bytes = 0L;
+        for (TerrainNoiseContext context : CONTEXTS.values()) {
+            bytes += context.pathNetworks.size() * PathNetworkCache.NETWORK_BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * The path network caches of every live context, which share one part of the region noise budget.
+     */
+    static List<PathNetworkCache> getPathNetworkCaches() {
+        List<PathNetworkCache> caches = new ArrayList<>(CONTEXTS.size());
+        for (TerrainNoiseContext context : CONTEXTS.values()) {
+            caches.add(context.pathNetworks);
+        }
+        return caches;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public TerrainSettings getTerrainSettings() {
+        return this.terrainSettings;
+    }
+
+    public OpenSimplex2F getNoiseGen() {
+        return this.noiseGen;
+    }
+
+    public boolean isHighGround(int x, int z) {
+        return this.getHighGroundMask(x >> 4, z >> 4).isHighGround(x, z);
+    }
+
+    public HighGroundMask getHighGroundMask(int tileX, int tileZ) {
+        return this.highGroundCache.get(this, tileX, tileZ, this.highGroundFactory);
+    }
+
+    /**
+     * The high ground blend weight of a noise column, from 0 for low ground to 1 for high ground.
+     */
+    public float getBlendWeight(int cellX, int cellZ) {
+        return this.blendCache.get(this, cellX >> 2, cellZ >> 2, this.blendFactory).getWeight(cellX, cellZ);
+    }
+
+    public PathBandGrid getPathBands(int chunkX, int chunkZ) {
+        return this.pathBandCache.get(this, chunkX, chunkZ, this.pathBandFactory);
+    }
+
+    /**
+     * The path network of a region, queueing it on the region noise threads when nothing has asked for it yet.
+     * Null until it is built and when building it failed, callers then use the noise band paths instead.
+     */
+    @Nullable
+    public PathNetwork getPathNetwork(int regionX, int regionZ) {
+        return this.pathNetworks.get(regionX, regionZ);
+    }
+
+    public SoggySwampMask getSoggySwampMask(int chunkX, int chunkZ) {
+        return this.soggySwampCache.get(this, chunkX, chunkZ, this.soggySwampFactory);
+    }
+
+    /**
+     * The base state table of a chunk, keyed by generator since the table depends on both its biome source and its sea level.
+     */
+    public BaseStateTable getBaseStateTable(ChunkGenerator generator, int chunkX, int chunkZ) {
+        BaseStateTable table = this.baseStateCache.getIfPresent(generator, chunkX, chunkZ);
+        if (table == null) {
+            table = BaseStateTable.compute(this, generator.getBiomeSource(), chunkX, chunkZ, generator.getSeaLevel());
+            this.baseStateCache.put(generator, chunkX, chunkZ, table);
+        }
+        return table;
+    }
+
+    /**
+     * The Creeper Woods surface noise at a block column, read from the grid of its chunk.
+     */
+    public double getSurfaceNoise(int x, int z) {
+        return this.getSurfaceNoiseGrid(x >> 4, z >> 4).sample(x, z);
+    }
+
+    /**
+     * The surface noise of every column of a chunk, which the terrain and the surface builders of that chunk all read from.
+     */
+    public SurfaceNoiseGrid getSurfaceNoiseGrid(int chunkX, int chunkZ) {
+        return this.surfaceNoiseCache.get(this, chunkX, chunkZ, this.surfaceNoiseFactory);
+    }
+
+    /**
+     * A sampler for every column of one region, so callers filling a whole tile only look the region up once.
+     */
+    public SurfaceNoiseSampler getSurfaceNoiseSampler(int regionX, int regionZ) {
+        RegionNoiseTile tile = RegionNoiseService.getIfPresent(this.seed, regionX, regionZ);
+        return tile != null ? tile : this.directSampler;
+    }
+
+    SurfaceNoiseSampler getDirectSampler() {
+        return this.directSampler;
+    }
+
+    double sampleSurfaceNoiseDirect(int x, int z) {
+        double frequency = this.terrainSettings.getFrequency();
+        return this.noiseGen.noise2(x * frequency, z * frequency);
+    }
+
+    private float blendWeight(double surfaceNoise) {
+        double t = (Math.abs(surfaceNoise) - (this.terrainSettings.getHighGroundThreshold() - HIGH_GROUND_BLEND_WIDTH)) / (2.0D * HIGH_GROUND_BLEND_WIDTH);
+        if (t <= 0.0D) {
+            return 0.0F;
+        }
+        if (t >= 1.0D) {
+            return 1.0F;
+        }
+        return (float) (t * t * (3.0D - 2.0D * t));
+    }
+}
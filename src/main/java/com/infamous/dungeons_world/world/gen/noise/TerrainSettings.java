@@ -0,0 +1,146 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import com.google.common.collect.ImmutableList;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tunable shape of the Creeper Woods surface noise: how stretched it is, where high ground starts and how wide the path bands are.
+ * Paths either follow the noise bands directly or, with path_network on, a {@link PathNetwork} laid over the noise,
+ * in which case path_widths gives the width of each band in blocks from the middle of the path.
+ *
+ * Thresholds are compiled into lookup tables indexed by the quantized noise magnitude or path distance when the settings are created,
+ * so classifying a column is one array read instead of a chain of comparisons.
+ */
+public class TerrainSettings {
+    public static final double MAX_PATH_WIDTH = 6.0D;
+    public static final Codec<TerrainSettings> CODEC = RecordCodecBuilder.create(builder -> builder.group(
+            Codec.doubleRange(1.0E-4D, 1.0D).fieldOf("frequency").orElse(0.015D).forGetter(settings -> settings.frequency),
+            Codec.doubleRange(0.0D, 1.0D).fieldOf("high_ground_threshold").orElse(0.3D).forGetter(settings -> settings.highGroundThreshold),
+            Codec.doubleRange(0.0D, 1.0D).listOf().fieldOf("path_bands").orElse(ImmutableList.of(0.09D, 0.13D, 0.22D)).forGetter(settings -> settings.pathBands),
+            Codec.BOOL.fieldOf("path_network").orElse(false).forGetter(settings -> settings.pathNetwork),
+            Codec.doubleRange(0.0D, MAX_PATH_WIDTH).listOf().fieldOf("path_widths").orElse(ImmutableList.of(1.0D, 2.0D, 3.0D)).forGetter(settings -> settings.pathWidths))
+            .apply(builder, TerrainSettings::new));
+    public static final TerrainSettings DEFAULT = new TerrainSettings(0.015D, 0.3D, ImmutableList.of(0.09D, 0.13D, 0.22D), false, ImmutableList.of(1.0D, 2.0D, 3.0D));
+    public static final int NO_PATH_BAND = -1;
+
+    private final double frequency;
+    private final double highGroundThreshold;
+    private final List<Double> pathBands;
+    private final boolean pathNetwork;
+    private final List<Double> pathWidths;
+    private final int highGroundMagnitude;
+    private final byte[] pathBandByMagnitude = new byte[Short.MAX_VALUE + 1];
+    private final byte[] pathBandByDistance = new byte[PathNetwork.FAR + 1];
+
+    public TerrainSettings(double frequency, double highGroundThreshold, List<Double> pathBands, boolean pathNetwork, List<Double> pathWidths) {
+        this.frequency = frequency;
+        this.highGroundThreshold = highGroundThreshold;
+        this.pathBands = ImmutableList.sortedCopyOf(pathBands);
+        this.pathNetwork = pathNetwork;
+        this.pathWidths = ImmutableList.sortedCopyOf(pathWidths);
+
+        int highGroundMagnitude = this.pathBandByMagnitude.length;
+        for (int magnitude = this.pathBandByMagnitude.length - 1; magnitude >= 0; magnitude--) {
+            double noise = RegionNoiseTile.dequantize((short) magnitude);
+            if (noise >= highGroundThreshold) {
+                highGroundMagnitude = magnitude;
+            }
+            byte band = NO_PATH_BAND;
+            for (int i = 0; i < this.pathBands.size(); i++) {
+                if (noise < this.pathBands.get(i)) {
+                    band = (byte) i;
+                    break;
+                }
+            }
+            this.pathBandByMagnitude[magnitude] = band;
+        }
+        this.highGroundMagnitude = highGroundMagnitude;
+
+        for (int distance = 0; distance < this.pathBandByDistance.length; distance++) {
+            byte band = NO_PATH_BAND;
+            if (distance < PathNetwork.FAR) {
+                for (int i = 0; i < this.pathWidths.size(); i++) {
+                    if (distance / (double) PathNetwork.DISTANCE_SCALE < this.pathWidths.get(i)) {
+                        band = (byte) i;
+                        break;
+                    }
+                }
+            }
+            this.pathBandByDistance[distance] = band;
+        }
+    }
+
+    public double getFrequency() {
+        return this.frequency;
+    }
+
+    public double getHighGroundThreshold() {
+        return this.highGroundThreshold;
+    }
+
+    public List<Double> getPathBands() {
+        return this.pathBands;
+    }
+
+    public boolean isPathNetwork() {
+        return this.pathNetwork;
+    }
+
+    public List<Double> getPathWidths() {
+        return this.pathWidths;
+    }
+
+    public double getMaxPathWidth() {
+        return this.pathWidths.isEmpty() ? 0.0D : this.pathWidths.get(this.pathWidths.size() - 1);
+    }
+
+    public boolean isHighGround(double noise) {
+        return magnitude(noise) >= this.highGroundMagnitude;
+    }
+
+    /**
+     * The index of the narrowest path band containing the noise, or {@link #NO_PATH_BAND} when it lies outside all of them.
+     */
+    public int getPathBand(double noise) {
+        return this.pathBandByMagnitude[magnitude(noise)];
+    }
+
+    /**
+     * The index of the narrowest path band reaching a column at the given {@link PathNetwork#getDistance(int, int)}, or {@link #NO_PATH_BAND}.
+     */
+    public int getPathBandAtDistance(int distance) {
+        return this.pathBandByDistance[distance];
+    }
+
+    private static int magnitude(double noise) {
+        return Math.abs(RegionNoiseTile.quantize(noise));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TerrainSettings)) {
+            return false;
+        }
+        TerrainSettings other = (TerrainSettings) o;
+        return this.frequency == other.frequency && this.highGroundThreshold == other.highGroundThreshold && this.pathBands.equals(other.pathBands)
+                && this.pathNetwork == other.pathNetwork && this.pathWidths.equals(other.pathWidths);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Arrays.hashCode(new double[]{this.frequency, this.highGroundThreshold}) * 31 + this.pathBands.hashCode();
+        return (hash * 31 + Boolean.hashCode(this.pathNetwork)) * 31 + this.pathWidths.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "TerrainSettings{frequency=" + this.frequency + ", highGroundThreshold=" + this.highGroundThreshold + ", pathBands=" + this.pathBands + ", pathNetwork=" + this.pathNetwork + ", pathWidths=" + this.pathWidths + "}";
+    }
+}
@@ -0,0 +1,48 @@
+package com.infamous.dungeons_world.world.gen.noise;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Switch for the Creeper Woods terrain shaping hooks in NoiseChunkGenerator.
+ *
+ * The switch is baked from the server config. A thread can temporarily override it with
+ * {@link #runWith(boolean, Supplier)}, which lets the benchmark compare both modes without
+ * changing how the world's own chunks generate.
+ */
+public class TerrainShaping {
+    private static final AtomicInteger ACTIVE_OVERRIDES = new AtomicInteger();
+    private static final ThreadLocal<Boolean> OVERRIDE = new ThreadLocal<>();
+
+    private static volatile boolean enabled;
+
+    public static boolean isEnabled() {
+        if (ACTIVE_OVERRIDES.get() > 0) {
+            Boolean override = OVERRIDE.get();
+            if (override != null) {
+                return override;
+            }
+        }
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        TerrainShaping.enabled = enabled;
+    }
+
+    public static <T> T runWith(boolean enabled, Supplier<T> task) {
+        Boolean previous = OVERRIDE.get();
+        OVERRIDE.set(enabled);
+        ACTIVE_OVERRIDES.incrementAndGet();
+        try {
+            return task.get();
+        } finally {
+            ACTIVE_OVERRIDES.decrementAndGet();
+            if (previous == null) {
+                OVERRIDE.remove();
+            } else {
+                OVERRIDE.set(previous);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.infamous.dungeons_world.world.gen.processors;
 
+import com.infamous.dungeons_world.world.gen.profile.ProfiledStage;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import mod.patrigan.structure_toolkit.util.RandomType;
@@ -26,6 +28,7 @@ public class CreepmossProcessor extends StructureProcessor {
             RANDOM_TYPE_CODEC.optionalFieldOf("random_type", RandomType.BLOCK).forGetter(processor -> processor.randomType)
     ).apply(builder, builder.stable(CreepmossProcessor::new)));
     private static final long SEED = 623154L;
+    private static final ProfiledStage PROCESS_STAGE = WorldgenProfiler.stage("processor/creepmoss");
 
     private final float rarity;
     private final int steps;
@@ -39,6 +42,15 @@ public class CreepmossProcessor extends StructureProcessor {
 
     @Override
     public Template.BlockInfo process(IWorldReader world, BlockPos piecePos, BlockPos structurePos, Template.BlockInfo rawBlockInfo, Template.BlockInfo blockInfo, PlacementSettings settings, Template template) {
+        long start = PROCESS_STAGE.start();
+        try {
+            return this.doProcess(world, piecePos, structurePos, blockInfo, settings);
+        } finally {
+            PROCESS_STAGE.stop(start);
+        }
+    }
+
+    private Template.BlockInfo doProcess(IWorldReader world, BlockPos piecePos, BlockPos structurePos, Template.BlockInfo blockInfo, PlacementSettings settings) {
         if(getIncreasedCreepmossState(blockInfo.state).isPresent()){
             BlockState blockState = getIncreasedCreepmossState(blockInfo.state).get();
             Random random;
@@ -1,5 +1,7 @@
 package com.infamous.dungeons_world.world.gen.processors;
 
+import com.infamous.dungeons_world.world.gen.profile.ProfiledStage;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import mod.patrigan.structure_toolkit.util.RandomType;
@@ -28,6 +30,7 @@ public class DirtyProcessor extends StructureProcessor {
             RANDOM_TYPE_CODEC.optionalFieldOf("random_type", RandomType.BLOCK).forGetter(processor -> processor.randomType)
     ).apply(builder, builder.stable(DirtyProcessor::new)));
     private static final long SEED = 623154L;
+    private static final ProfiledStage PROCESS_STAGE = WorldgenProfiler.stage("processor/dirty");
 
     private final float rarity;
     private final int steps;
@@ -41,6 +44,15 @@ public class DirtyProcessor extends StructureProcessor {
 
     @Override
     public Template.BlockInfo process(IWorldReader world, BlockPos piecePos, BlockPos structurePos, Template.BlockInfo rawBlockInfo, Template.BlockInfo blockInfo, PlacementSettings settings, Template template) {
+        long start = PROCESS_STAGE.start();
+        try {
+            return this.doProcess(world, piecePos, structurePos, blockInfo, settings);
+        } finally {
+            PROCESS_STAGE.stop(start);
+        }
+    }
+
+    private Template.BlockInfo doProcess(IWorldReader world, BlockPos piecePos, BlockPos structurePos, Template.BlockInfo blockInfo, PlacementSettings settings) {
         if(getIncreasedDirtyState(blockInfo.state).isPresent()){
             BlockState blockState = getIncreasedDirtyState(blockInfo.state).get();
             Random random;
@@ -1,6 +1,8 @@
 package com.infamous.dungeons_world.world.gen.processors;
 
 import com.infamous.dungeons_world.tileentity.DungeonsChestType;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledStage;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
 import com.mojang.datafixers.util.Pair;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
@@ -47,6 +49,7 @@ public class DungeonsChestProcessor extends StructureProcessor {
             RANDOM_TYPE_CODEC.optionalFieldOf("random_type", RandomType.BLOCK).forGetter(processor -> processor.randomType)
     ).apply(builder, builder.stable(DungeonsChestProcessor::new)));
     private static final long SEED = 2465482L;
+    private static final ProfiledStage PROCESS_STAGE = WorldgenProfiler.stage("processor/dungeons_chest");
 
     private final ResourceLocation baseLootTable;
     private final ResourceLocation replacer;
@@ -64,6 +67,15 @@ public class DungeonsChestProcessor extends StructureProcessor {
 
     @Override
     public Template.BlockInfo process(IWorldReader world, BlockPos piecePos, BlockPos structurePos, Template.BlockInfo rawBlockInfo, Template.BlockInfo blockInfo, PlacementSettings settings, Template template) {
+        long start = PROCESS_STAGE.start();
+        try {
+            return this.doProcess(world, piecePos, structurePos, blockInfo, settings);
+        } finally {
+            PROCESS_STAGE.stop(start);
+        }
+    }
+
+    private Template.BlockInfo doProcess(IWorldReader world, BlockPos piecePos, BlockPos structurePos, Template.BlockInfo blockInfo, PlacementSettings settings) {
         if ((blockInfo.state.is(COMMON_CHEST.get()) || blockInfo.state.is(CHEST)) && blockInfo.state.hasTileEntity()) {
             Random random;
             if(blockInfo.state.getValue(TYPE).equals(ChestType.LEFT)) {
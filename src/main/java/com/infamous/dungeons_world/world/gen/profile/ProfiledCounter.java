@@ -0,0 +1,33 @@
+package com.infamous.dungeons_world.world.gen.profile;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A running total for things that are too cheap to time one by one, such as blocks written.
+ */
+public class ProfiledCounter {
+    private final String name;
+    private final LongAdder total = new LongAdder();
+
+    ProfiledCounter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public void add(long amount) {
+        if (WorldgenProfiler.isEnabled()) {
+            this.total.add(amount);
+        }
+    }
+
+    long sum() {
+        return this.total.sum();
+    }
+
+    void reset() {
+        this.total.reset();
+    }
+}
@@ -0,0 +1,109 @@
+package com.infamous.dungeons_world.world.gen.profile;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timing statistics of one worldgen stage.
+ *
+ * Everything is recorded through {@link LongAdder}s, which stripe their cells across contending threads,
+ * so worldgen workers timing the same stage do not fight over one cache line.
+ * Durations also go into a histogram with one bucket per power of two nanoseconds,
+ * which is coarse but enough to tell a slow tail from a slow average.
+ */
+public class ProfiledStage {
+    private static final int BUCKETS = 64;
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+    private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+    ProfiledStage(String name) {
+        this.name = name;
+        for (int i = 0; i < BUCKETS; i++) {
+            this.histogram[i] = new LongAdder();
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the start time to hand to {@link #stop(long)}, or 0 when profiling is off.
+     */
+    public long start() {
+        return WorldgenProfiler.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    public void stop(long start) {
+        if (start != 0L) {
+            this.record(System.nanoTime() - start);
+        }
+    }
+
+    public void record(long nanos) {
+        this.count.increment();
+        this.totalNanos.add(nanos);
+        this.maxNanos.accumulate(nanos);
+        this.histogram[BUCKETS - Long.numberOfLeadingZeros(Math.max(nanos, 1L))].increment();
+    }
+
+    void reset() {
+        this.count.reset();
+        this.totalNanos.reset();
+        this.maxNanos.reset();
+        for (LongAdder bucket : this.histogram) {
+            bucket.reset();
+        }
+    }
+
+    Snapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = this.histogram[i].sum();
+        }
+        return new Snapshot(this.name, this.count.sum(), this.totalNanos.sum(), this.maxNanos.get(), buckets);
+    }
+
+    static class Snapshot {
+        final String name;
+        final long count;
+        final long totalNanos;
+        final long maxNanos;
+        private final long[] buckets;
+
+        private Snapshot(String name, long count, long totalNanos, long maxNanos, long[] buckets) {
+            this.name = name;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.buckets = buckets;
+        }
+
+        double meanNanos() {
+            return this.count == 0L ? 0.0D : (double) this.totalNanos / this.count;
+        }
+
+        /**
+         * Upper bound of the histogram bucket holding the given percentile, capped at the recorded maximum.
+         */
+        long percentileNanos(double percentile) {
+            long total = 0L;
+            for (long bucket : this.buckets) {
+                total += bucket;
+            }
+            long target = (long) Math.ceil(total * percentile);
+            long seen = 0L;
+            for (int i = 0; i < this.buckets.length; i++) {
+                seen += this.buckets[i];
+                if (seen >= target && seen > 0L) {
+                    return Math.min(i >= 63 ? Long.MAX_VALUE : (1L << i) - 1L, this.maxNanos);
+                }
+            }
+            return this.maxNanos;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.infamous.dungeons_world.world.gen.profile;
+
+import com.infamous.dungeons_world.DungeonsWorld;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+@Mod.EventBusSubscriber(modid = DungeonsWorld.MODID)
+public class ProfilerEvents {
+    private static int ticks;
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event){
+        if(event.phase != TickEvent.Phase.END || !WorldgenProfiler.isEnabled()){
+            return;
+        }
+        int interval = WorldgenProfiler.getLogIntervalTicks();
+        if(interval > 0 && ++ticks >= interval){
+            ticks = 0;
+            for(String line : WorldgenProfiler.report()){
+                DungeonsWorld.LOGGER.info(line);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.infamous.dungeons_world.world.gen.profile;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in timing of the worldgen code this mod adds.
+ *
+ * Stages are registered once, usually into a static field of the class they time,
+ * and only read the clock while profiling is enabled. With profiling off a stage costs one volatile read.
+ */
+public class WorldgenProfiler {
+    private static final Map<String, ProfiledStage> STAGES = new ConcurrentHashMap<>();
+    private static final Map<String, ProfiledCounter> COUNTERS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+    private static volatile long startedAt = System.nanoTime();
+    private static volatile int logIntervalTicks;
+
+    public static ProfiledStage stage(String name) {
+        return STAGES.computeIfAbsent(name, ProfiledStage::new);
+    }
+
+    public static ProfiledCounter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, ProfiledCounter::new);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        if (enabled && !WorldgenProfiler.enabled) {
+            reset();
+        }
+        WorldgenProfiler.enabled = enabled;
+    }
+
+    public static int getLogIntervalTicks() {
+        return logIntervalTicks;
+    }
+
+    public static void setLogInterval(int seconds) {
+        logIntervalTicks = seconds * 20;
+    }
+
+    public static void reset() {
+        for (ProfiledStage stage : STAGES.values()) {
+            stage.reset();
+        }
+        for (ProfiledCounter counter : COUNTERS.values()) {
+            counter.reset();
+        }
+        startedAt = System.nanoTime();
+    }
+
+    /**
+     * One line per stage that recorded anything since the last reset, slowest stage in total first, followed by the counters.
+     */
+    public static List<String> report() {
+        List<ProfiledStage.Snapshot> snapshots = new ArrayList<>();
+        for (ProfiledStage stage : STAGES.values()) {
+            ProfiledStage.Snapshot snapshot = stage.snapshot();
+            if (snapshot.count > 0L) {
+                snapshots.add(snapshot);
+            }
+        }
+        snapshots.sort((a, b) -> Long.compare(b.totalNanos, a.totalNanos));
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Worldgen profile over the last %.1f s:", (System.nanoTime() - startedAt) / 1.0E9D));
+        for (ProfiledStage.Snapshot snapshot : snapshots) {
+            lines.add(String.format("  %s: %d calls, %.1f ms total, mean %.2f us, p50 <= %.2f us, p99 <= %.2f us, max %.2f us",
+                    snapshot.name, snapshot.count, snapshot.totalNanos / 1.0E6D, snapshot.meanNanos() / 1.0E3D,
+                    snapshot.percentileNanos(0.5D) / 1.0E3D, snapshot.percentileNanos(0.99D) / 1.0E3D, snapshot.maxNanos / 1.0E3D));
+        }
+        List<ProfiledCounter> counters = new ArrayList<>(COUNTERS.values());
+        counters.sort(Comparator.comparing(ProfiledCounter::getName));
+        for (ProfiledCounter counter : counters) {
+            long sum = counter.sum();
+            if (sum > 0L) {
+                lines.add(String.format("  %s: %d", counter.getName(), sum));
+            }
+        }
+        if (lines.size() == 1) {
+            lines.add("  nothing recorded yet");
+        }
+        return lines;
+    }
+}
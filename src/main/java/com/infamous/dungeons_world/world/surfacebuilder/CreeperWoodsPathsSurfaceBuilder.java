@@ -1,9 +1,12 @@
 package com.infamous.dungeons_world.world.surfacebuilder;
 
-import com.infamous.dungeons_world.util.OpenSimplex2F;
+import com.infamous.dungeons_world.world.gen.noise.PathBandGrid;
+import com.infamous.dungeons_world.world.gen.noise.TerrainNoiseContext;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledCounter;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledStage;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
 import com.mojang.serialization.Codec;
 import net.minecraft.block.BlockState;
-import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.IChunk;
@@ -16,49 +19,71 @@ import static com.infamous.dungeons_world.blocks.ModBlocks.*;
 import static net.minecraft.block.Blocks.AIR;
 
 public class CreeperWoodsPathsSurfaceBuilder extends SurfaceBuilder<SurfaceBuilderConfig> {
+    private static final ProfiledStage APPLY_STAGE = WorldgenProfiler.stage("surface/creeper_woods_paths");
+    private static final ProfiledCounter SET_BLOCK_STATE_COUNTER = WorldgenProfiler.counter("surface/creeper_woods_paths/blocks_written");
+
     public CreeperWoodsPathsSurfaceBuilder(Codec<SurfaceBuilderConfig> codec) {
         super(codec);
     }
 
-    protected long seed;
-    protected static OpenSimplex2F noiseGen;
-
-    public void setSeed(long seed) {
-        if (this.seed != seed || noiseGen == null) {
-            noiseGen = new OpenSimplex2F(seed);
-            this.seed = seed;
+    public void apply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, SurfaceBuilderConfig config) {
+        long start = APPLY_STAGE.start();
+        try {
+            this.doApply(random, chunkIn, biomeIn, x, z, startHeight, noise, defaultBlock, defaultFluid, seaLevel, seed, config);
+        } finally {
+            APPLY_STAGE.stop(start);
         }
     }
 
-
-    public void apply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, SurfaceBuilderConfig config) {
-        //setSeed(((ISeedReader) chunkIn.getWorldForge()).getSeed());
-        setSeed(seed);
-
-        BlockPos.Mutable mutable = new BlockPos.Mutable(x, 0, z);
-
-        double sampleNoise = noiseGen.noise2(x * 0.015D, z * 0.015D);
+    private void doApply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, SurfaceBuilderConfig config) {
+        PathBandGrid pathBands = TerrainNoiseContext.forSeed(seed).getPathBands(x >> 4, z >> 4);
         BlockState topBlock;
-        if(sampleNoise < 0.09 && sampleNoise > (0.09 * -1)){
-            topBlock = DEEP_DIRT_PATH.get().defaultBlockState();
-        } else if(sampleNoise < 0.13 && sampleNoise > (0.13 * -1)) {
-            topBlock = DEEP_GRASSY_DIRT.get().defaultBlockState();
-        } else if(sampleNoise < 0.22 && sampleNoise > (0.22 * -1)) {
-            topBlock = DEEP_DIRTY_GRASS.get().defaultBlockState();
-        } else {
-            topBlock = config.getTopMaterial();
+        switch (pathBands.getPathBand(x, z)) {
+            case 0:
+                topBlock = DEEP_DIRT_PATH.get().defaultBlockState();
+                break;
+            case 1:
+                topBlock = DEEP_GRASSY_DIRT.get().defaultBlockState();
+                break;
+            case 2:
+                topBlock = DEEP_DIRTY_GRASS.get().defaultBlockState();
+                break;
+            default:
+                topBlock = config.getTopMaterial();
+        }
+
+        SurfaceColumnWriter writer = SurfaceColumnWriter.begin(chunkIn, x, z);
+        if (writer == null) {
+            SET_BLOCK_STATE_COUNTER.add(this.applyPerBlock(chunkIn, x, z, startHeight, topBlock, defaultBlock, config));
+            return;
         }
-        mutable.move(Direction.UP, startHeight);
+        // Same layers as applyPerBlock, but only the blocks that differ from what the noise stage left are written.
+        BlockState underMaterial = config.getUnderMaterial();
+        writer.set(startHeight, AIR.defaultBlockState());
+        writer.set(startHeight - 1, topBlock);
+        for (int yPos = startHeight - 2; yPos > startHeight - 5; --yPos) {
+            writer.set(yPos, underMaterial);
+        }
+        writer.fill(0, startHeight - 5, defaultBlock);
+        SET_BLOCK_STATE_COUNTER.add(writer.finish());
+    }
+
+    private int applyPerBlock(IChunk chunkIn, int x, int z, int startHeight, BlockState topBlock, BlockState defaultBlock, SurfaceBuilderConfig config) {
+        BlockPos.Mutable mutable = SurfaceColumnWriter.columnPos(x, z);
+        BlockState underMaterial = config.getUnderMaterial();
+        int writes = 0;
         for (int yPos = startHeight; yPos >= 0; --yPos) {
+            mutable.setY(yPos);
             if (yPos >= startHeight) {
                 chunkIn.setBlockState(mutable, AIR.defaultBlockState(), false);
             } else if (yPos == startHeight -1){
                 chunkIn.setBlockState(mutable, topBlock, false);
             }else if (yPos > startHeight - 5)
-                chunkIn.setBlockState(mutable, config.getUnderMaterial(), false);
+                chunkIn.setBlockState(mutable, underMaterial, false);
             else
                 chunkIn.setBlockState(mutable, defaultBlock, false);
-            mutable.move(Direction.DOWN);
+            writes++;
         }
+        return writes;
     }
 }
@@ -1,15 +1,15 @@
 package com.infamous.dungeons_world.world.surfacebuilder;
 
-import com.infamous.dungeons_world.util.OpenSimplex2F;
+import com.infamous.dungeons_world.world.gen.noise.TerrainNoiseContext;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledCounter;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledStage;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
 import com.mojang.serialization.Codec;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
-import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.ISeedReader;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.IChunk;
-import net.minecraft.world.gen.Heightmap;
 import net.minecraft.world.gen.surfacebuilders.DefaultSurfaceBuilder;
 import net.minecraft.world.gen.surfacebuilders.SurfaceBuilder;
 import net.minecraft.world.gen.surfacebuilders.SurfaceBuilderConfig;
@@ -19,57 +19,89 @@ import java.util.Random;
 import static net.minecraft.block.Blocks.AIR;
 
 public class CreeperWoodsSurfaceBuilder extends SurfaceBuilder<SurfaceBuilderConfig> {
+    private static final ProfiledStage APPLY_STAGE = WorldgenProfiler.stage("surface/creeper_woods");
+    private static final ProfiledCounter SET_BLOCK_STATE_COUNTER = WorldgenProfiler.counter("surface/creeper_woods/blocks_written");
+
     public CreeperWoodsSurfaceBuilder(Codec<SurfaceBuilderConfig> codec) {
         super(codec);
     }
 
-    protected long seed;
-    protected static OpenSimplex2F noiseGen;
-
-    public void setSeed(long seed) {
-        if (this.seed != seed || noiseGen == null) {
-            noiseGen = new OpenSimplex2F(seed);
-            this.seed = seed;
+    public void apply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, SurfaceBuilderConfig config) {
+        long start = APPLY_STAGE.start();
+        try {
+            this.doApply(random, chunkIn, biomeIn, x, z, startHeight, noise, defaultBlock, defaultFluid, seaLevel, seed, config);
+        } finally {
+            APPLY_STAGE.stop(start);
         }
     }
 
+    private void doApply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, SurfaceBuilderConfig config) {
+        boolean highGround = TerrainNoiseContext.forSeed(seed).isHighGround(x, z);
+        SurfaceColumnWriter writer = SurfaceColumnWriter.begin(chunkIn, x, z);
+        int writes = writer != null
+                ? this.applySurfaceBand(writer, startHeight, highGround, defaultBlock, config)
+                : this.applyPerBlock(chunkIn, x, z, startHeight, highGround, defaultBlock, config);
+        SET_BLOCK_STATE_COUNTER.add(writes);
+    }
 
-    public void apply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, SurfaceBuilderConfig config) {
-        //setSeed(((ISeedReader) chunkIn.getWorldForge()).getSeed());
-        setSeed(seed);
-
-        BlockPos.Mutable mutable = new BlockPos.Mutable(x, 0, z);
-        int groundLevel = chunkIn.getHeight(Heightmap.Type.OCEAN_FLOOR_WG, x, z);
+    /**
+     * Builds the column through a {@link SurfaceColumnWriter}, so only the band the builder actually changes gets written.
+     * Returns the number of blocks written.
+     */
+    public int applySurfaceBand(SurfaceColumnWriter writer, int startHeight, boolean highGround, BlockState defaultBlock, SurfaceBuilderConfig config) {
+        int topHeight = highGround ? startHeight + 2 : startHeight - 2;
+        BlockState air = AIR.defaultBlockState();
+        BlockState underMaterial = config.getUnderMaterial();
+        for (int yPos = startHeight; yPos > topHeight; --yPos) {
+            writer.set(yPos, air);
+        }
+        writer.set(topHeight, config.getTopMaterial());
+        for (int yPos = topHeight - 1; yPos > topHeight - 4; --yPos) {
+            writer.set(yPos, underMaterial);
+        }
+        writer.fill(0, topHeight - 4, defaultBlock);
+        return writer.finish();
+    }
 
-        double sampleNoise = noiseGen.noise2(x * 0.015D, z * 0.015D);
-        if(sampleNoise < 0.3 && sampleNoise > (0.3 * -1)){
+    /**
+     * Builds the column with one setBlockState per block down to y=0, for chunks that are not ChunkPrimers.
+     * Returns the number of blocks written.
+     */
+    public int applyPerBlock(IChunk chunkIn, int x, int z, int startHeight, boolean highGround, BlockState defaultBlock, SurfaceBuilderConfig config) {
+        BlockPos.Mutable mutable = SurfaceColumnWriter.columnPos(x, z);
+        BlockState air = AIR.defaultBlockState();
+        BlockState topMaterial = config.getTopMaterial();
+        BlockState underMaterial = config.getUnderMaterial();
+        int writes = 0;
+        if(!highGround){
             int topHeight = startHeight - 2;
-            mutable.move(Direction.UP, startHeight);
             for (int yPos = startHeight; yPos >= 0; --yPos) {
+                mutable.setY(yPos);
                 if (yPos > topHeight) {
-                    chunkIn.setBlockState(mutable, AIR.defaultBlockState(), false);
+                    chunkIn.setBlockState(mutable, air, false);
                 } else if (yPos == topHeight){
-                    chunkIn.setBlockState(mutable, config.getTopMaterial(), false);
+                    chunkIn.setBlockState(mutable, topMaterial, false);
                 }else if (yPos > topHeight - 4)
-                    chunkIn.setBlockState(mutable, config.getUnderMaterial(), false);
+                    chunkIn.setBlockState(mutable, underMaterial, false);
                 else
                     chunkIn.setBlockState(mutable, defaultBlock, false);
-                mutable.move(Direction.DOWN);
+                writes++;
             }
         }else{
             int topHeight = startHeight + 2;
-            mutable.move(Direction.UP, topHeight);
             for (int yPos = topHeight; yPos >= 0; --yPos) {
+                mutable.setY(yPos);
                 if (yPos == topHeight){
-                    chunkIn.setBlockState(mutable, config.getTopMaterial(), false);
+                    chunkIn.setBlockState(mutable, topMaterial, false);
                 } else if (yPos > topHeight - 4) {
-                    chunkIn.setBlockState(mutable, config.getUnderMaterial(), false);
+                    chunkIn.setBlockState(mutable, underMaterial, false);
                 } else {
                     chunkIn.setBlockState(mutable, defaultBlock, false);
                 }
-                mutable.move(Direction.DOWN);
+                writes++;
             }
         }
+        return writes;
     }
 
 }
@@ -0,0 +1,88 @@
+package com.infamous.dungeons_world.world.surfacebuilder;
+
+import com.infamous.dungeons_world.world.gen.noise.TerrainNoiseContext;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledCounter;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledStage;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
+import com.mojang.serialization.Codec;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.IChunk;
+import net.minecraft.world.gen.surfacebuilders.SurfaceBuilder;
+
+import java.util.Random;
+
+import static net.minecraft.block.Blocks.AIR;
+
+/**
+ * A surface builder driven entirely by its {@link LayeredSurfaceBuilderConfig}, so a biome variant only needs a configured_surface_builder JSON.
+ *
+ * The column's Creeper Woods surface noise picks the layers: the surface moves by the height offset,
+ * gets the top material, then depth blocks of the under material.
+ * Blocks freed up above a lowered surface become air, or the default fluid below sea level,
+ * and a raised surface is backed with the default block.
+ */
+public class LayeredSurfaceBuilder extends SurfaceBuilder<LayeredSurfaceBuilderConfig> {
+    private static final ProfiledStage APPLY_STAGE = WorldgenProfiler.stage("surface/layered");
+    private static final ProfiledCounter SET_BLOCK_STATE_COUNTER = WorldgenProfiler.counter("surface/layered/blocks_written");
+
+    public LayeredSurfaceBuilder(Codec<LayeredSurfaceBuilderConfig> codec) {
+        super(codec);
+    }
+
+    @Override
+    public void apply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, LayeredSurfaceBuilderConfig config) {
+        long start = APPLY_STAGE.start();
+        try {
+            this.doApply(random, chunkIn, biomeIn, x, z, startHeight, noise, defaultBlock, defaultFluid, seaLevel, seed, config);
+        } finally {
+            APPLY_STAGE.stop(start);
+        }
+    }
+
+    private void doApply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, LayeredSurfaceBuilderConfig config) {
+        int layer = config.getLayer(TerrainNoiseContext.forSeed(seed).getSurfaceNoise(x, z));
+        int topHeight = startHeight + config.getHeightOffset(layer);
+        int underHeight = topHeight - config.getDepth(layer);
+        BlockState topBlock = topHeight < seaLevel - 1 ? config.getUnderwaterMaterial(layer) : config.getTopMaterial(layer);
+        BlockState underBlock = config.getUnderMaterial(layer);
+
+        SurfaceColumnWriter writer = SurfaceColumnWriter.begin(chunkIn, x, z);
+        if (writer == null) {
+            SET_BLOCK_STATE_COUNTER.add(applyPerBlock(chunkIn, x, z, startHeight, topHeight, underHeight, topBlock, underBlock, defaultBlock, defaultFluid, seaLevel));
+            return;
+        }
+        BlockState air = AIR.defaultBlockState();
+        for (int yPos = startHeight; yPos > topHeight; --yPos) {
+            writer.set(yPos, yPos < seaLevel ? defaultFluid : air);
+        }
+        writer.set(topHeight, topBlock);
+        for (int yPos = topHeight - 1; yPos >= underHeight; --yPos) {
+            writer.set(yPos, underBlock);
+        }
+        writer.fill(startHeight + 1, underHeight - 1, defaultBlock);
+        SET_BLOCK_STATE_COUNTER.add(writer.finish());
+    }
+
+    private static int applyPerBlock(IChunk chunkIn, int x, int z, int startHeight, int topHeight, int underHeight, BlockState topBlock, BlockState underBlock, BlockState defaultBlock, BlockState defaultFluid, int seaLevel) {
+        BlockPos.Mutable mutable = SurfaceColumnWriter.columnPos(x, z);
+        BlockState air = AIR.defaultBlockState();
+        int writes = 0;
+        for (int yPos = Math.max(startHeight, topHeight); yPos >= Math.min(startHeight + 1, underHeight); --yPos) {
+            BlockState state;
+            if (yPos > topHeight) {
+                state = yPos < seaLevel ? defaultFluid : air;
+            } else if (yPos == topHeight) {
+                state = topBlock;
+            } else if (yPos >= underHeight) {
+                state = underBlock;
+            } else {
+                state = defaultBlock;
+            }
+            chunkIn.setBlockState(mutable.setY(yPos), state, false);
+            writes++;
+        }
+        return writes;
+    }
+}
@@ -0,0 +1,114 @@
+package com.infamous.dungeons_world.world.surfacebuilder;
+
+import com.infamous.dungeons_world.world.gen.noise.RegionNoiseTile;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.block.BlockState;
+import net.minecraft.world.gen.surfacebuilders.ISurfaceBuilderConfig;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Configuration of the {@link LayeredSurfaceBuilder}: ordered rules picking the layers of a column by its surface noise,
+ * and the layers of columns no rule matches.
+ *
+ * The first matching rule wins. Rules are compiled into a table indexed by the quantized surface noise when the config is decoded,
+ * so picking the layers of a column is one array read no matter how many rules there are.
+ */
+public class LayeredSurfaceBuilderConfig implements ISurfaceBuilderConfig {
+    public static final Codec<LayeredSurfaceBuilderConfig> CODEC = RecordCodecBuilder.create(builder -> builder.group(
+            BlockState.CODEC.fieldOf("top_material").forGetter(config -> config.fallback.getTopMaterial()),
+            BlockState.CODEC.fieldOf("under_material").forGetter(config -> config.fallback.getUnderMaterial()),
+            BlockState.CODEC.fieldOf("underwater_material").forGetter(config -> config.fallback.getUnderwaterMaterial()),
+            Codec.intRange(0, 16).fieldOf("depth").orElse(3).forGetter(config -> config.fallback.getDepth()),
+            Codec.intRange(-16, 16).fieldOf("height_offset").orElse(0).forGetter(config -> config.fallback.getHeightOffset()),
+            SurfaceLayerRule.CODEC.listOf().fieldOf("rules").orElse(Collections.emptyList()).forGetter(config -> config.rules))
+            .apply(builder, LayeredSurfaceBuilderConfig::new));
+    private static final int MAX_RULES = Byte.MAX_VALUE;
+
+    private final SurfaceLayerRule fallback;
+    private final List<SurfaceLayerRule> rules;
+    private final byte[] layersByNoise = new byte[1 << 16];
+    private final BlockState[] topMaterials;
+    private final BlockState[] underMaterials;
+    private final BlockState[] underwaterMaterials;
+    private final int[] depths;
+    private final int[] heightOffsets;
+
+    public LayeredSurfaceBuilderConfig(BlockState topMaterial, BlockState underMaterial, BlockState underwaterMaterial, int depth, int heightOffset, List<SurfaceLayerRule> rules) {
+        if (rules.size() > MAX_RULES) {
+            throw new IllegalArgumentException("A layered surface builder takes at most " + MAX_RULES + " rules, got " + rules.size());
+        }
+        this.fallback = new SurfaceLayerRule(-1.0D, 1.0D, false, topMaterial, underMaterial, underwaterMaterial, depth, heightOffset);
+        this.rules = rules;
+
+        // Layers 0 to n-1 are the rules in order, layer n is the fallback.
+        int layers = rules.size() + 1;
+        this.topMaterials = new BlockState[layers];
+        this.underMaterials = new BlockState[layers];
+        this.underwaterMaterials = new BlockState[layers];
+        this.depths = new int[layers];
+        this.heightOffsets = new int[layers];
+        for (int layer = 0; layer < layers; layer++) {
+            SurfaceLayerRule rule = layer < rules.size() ? rules.get(layer) : this.fallback;
+            this.topMaterials[layer] = rule.getTopMaterial();
+            this.underMaterials[layer] = rule.getUnderMaterial();
+            this.underwaterMaterials[layer] = rule.getUnderwaterMaterial();
+            this.depths[layer] = rule.getDepth();
+            this.heightOffsets[layer] = rule.getHeightOffset();
+        }
+        for (int index = 0; index < this.layersByNoise.length; index++) {
+            double noise = RegionNoiseTile.dequantize((short) (index + Short.MIN_VALUE));
+            int layer = rules.size();
+            for (int i = 0; i < rules.size(); i++) {
+                if (rules.get(i).matches(noise)) {
+                    layer = i;
+                    break;
+                }
+            }
+            this.layersByNoise[index] = (byte) layer;
+        }
+    }
+
+    /**
+     * The layer index of a column with the given surface noise, to look the layers up with the getters below.
+     */
+    public int getLayer(double noise) {
+        return this.layersByNoise[RegionNoiseTile.quantize(noise) - Short.MIN_VALUE];
+    }
+
+    public BlockState getTopMaterial(int layer) {
+        return this.topMaterials[layer];
+    }
+
+    public BlockState getUnderMaterial(int layer) {
+        return this.underMaterials[layer];
+    }
+
+    public BlockState getUnderwaterMaterial(int layer) {
+        return this.underwaterMaterials[layer];
+    }
+
+    public int getDepth(int layer) {
+        return this.depths[layer];
+    }
+
+    public int getHeightOffset(int layer) {
+        return this.heightOffsets[layer];
+    }
+
+    public List<SurfaceLayerRule> getRules() {
+        return this.rules;
+    }
+
+    @Override
+    public BlockState getTopMaterial() {
+        return this.fallback.getTopMaterial();
+    }
+
+    @Override
+    public BlockState getUnderMaterial() {
+        return this.fallback.getUnderMaterial();
+    }
+}
@@ -14,6 +14,8 @@ public class ModSurfaceBuilders {
 
     public static final RegistryObject<SurfaceBuilder<SurfaceBuilderConfig>> CREEPER_WOODS = register("creeper_woods", () -> new CreeperWoodsPathsSurfaceBuilder(SurfaceBuilderConfig.CODEC));
     public static final RegistryObject<SurfaceBuilder<SurfaceBuilderConfig>> SPIDER_CAVES = register("spider_caves", () -> new SpiderCavesSurfaceBuilder(SurfaceBuilderConfig.CODEC));
+    public static final RegistryObject<SurfaceBuilder<SurfaceBuilderConfig>> SOGGY_SWAMP = register("soggy_swamp", () -> new SoggySwampSurfaceBuilder(SurfaceBuilderConfig.CODEC));
+    public static final RegistryObject<SurfaceBuilder<LayeredSurfaceBuilderConfig>> LAYERED = SURFACE_BUILDERS.register("layered", () -> new LayeredSurfaceBuilder(LayeredSurfaceBuilderConfig.CODEC));
 
     private static RegistryObject<SurfaceBuilder<SurfaceBuilderConfig>> register(String id, Supplier<SurfaceBuilder<SurfaceBuilderConfig>> sup) {
         return SURFACE_BUILDERS.register(id, sup);
@@ -0,0 +1,115 @@
+package com.infamous.dungeons_world.world.surfacebuilder;
+
+import com.infamous.dungeons_world.world.gen.noise.SoggySwampMask;
+import com.infamous.dungeons_world.world.gen.noise.TerrainNoiseContext;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledCounter;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledStage;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
+import com.mojang.serialization.Codec;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldReader;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.IChunk;
+import net.minecraft.world.gen.Heightmap;
+import net.minecraft.world.gen.surfacebuilders.SurfaceBuilder;
+import net.minecraft.world.gen.surfacebuilders.SurfaceBuilderConfig;
+
+import java.util.Random;
+
+import static net.minecraft.block.Blocks.AIR;
+
+/**
+ * Soggy Swamp ground: grass, patches of mud, and pools of standing water laid out by the chunk's {@link SoggySwampMask}.
+ * The underwater material doubles as the mud.
+ *
+ * Pools are only ever one block deep and at the water level of the sea, sunk into ground at most two blocks above it.
+ * Every neighbour of a pool at that height is then ground, another pool or the sea itself, and the block below is mud,
+ * so the water has nowhere to flow and never needs a fluid tick.
+ * That only holds while the neighbours are built by this builder as well, since another biome may leave its ground lower,
+ * so pools are only sunk where all four neighbouring columns are Soggy Swamp, across chunk borders included.
+ */
+public class SoggySwampSurfaceBuilder extends SurfaceBuilder<SurfaceBuilderConfig> {
+    private static final ProfiledStage APPLY_STAGE = WorldgenProfiler.stage("surface/soggy_swamp");
+    private static final ProfiledCounter SET_BLOCK_STATE_COUNTER = WorldgenProfiler.counter("surface/soggy_swamp/blocks_written");
+    private static final int UNDER_DEPTH = 3;
+
+    public SoggySwampSurfaceBuilder(Codec<SurfaceBuilderConfig> codec) {
+        super(codec);
+    }
+
+    @Override
+    public void apply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, SurfaceBuilderConfig config) {
+        long start = APPLY_STAGE.start();
+        try {
+            this.doApply(random, chunkIn, biomeIn, x, z, startHeight, noise, defaultBlock, defaultFluid, seaLevel, seed, config);
+        } finally {
+            APPLY_STAGE.stop(start);
+        }
+    }
+
+    private void doApply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, SurfaceBuilderConfig config) {
+        int kind = TerrainNoiseContext.forSeed(seed).getSoggySwampMask(x >> 4, z >> 4).getKind(x, z);
+        int floorHeight = chunkIn.getHeight(Heightmap.Type.OCEAN_FLOOR_WG, x, z);
+        int waterHeight = seaLevel - 1;
+        boolean submerged = floorHeight < startHeight - 1 || floorHeight < waterHeight;
+        boolean pool = !submerged && kind == SoggySwampMask.WET && floorHeight <= waterHeight + 2 && isEnclosed(biomeIn, x, waterHeight, z);
+
+        int topHeight = pool ? waterHeight - 1 : floorHeight;
+        BlockState topBlock = submerged || pool || kind != SoggySwampMask.DRY ? config.getUnderwaterMaterial() : config.getTopMaterial();
+        SurfaceColumnWriter writer = SurfaceColumnWriter.begin(chunkIn, x, z);
+        if (writer == null) {
+            SET_BLOCK_STATE_COUNTER.add(applyPerBlock(chunkIn, x, z, floorHeight, pool ? waterHeight : -1, topHeight, topBlock, defaultFluid, config));
+            return;
+        }
+        if (pool) {
+            BlockState air = AIR.defaultBlockState();
+            for (int yPos = floorHeight; yPos > waterHeight; --yPos) {
+                writer.set(yPos, air);
+            }
+            writer.set(waterHeight, defaultFluid);
+        }
+        writer.set(topHeight, topBlock);
+        BlockState underMaterial = config.getUnderMaterial();
+        for (int yPos = topHeight - 1; yPos >= topHeight - UNDER_DEPTH; --yPos) {
+            writer.set(yPos, underMaterial);
+        }
+        SET_BLOCK_STATE_COUNTER.add(writer.finish());
+    }
+
+    /**
+     * Whether all four neighbours of the column are of the given biome, as read from the region whose surface is being built.
+     * Outside of a noise generator's surface stage the neighbours are unknown, and no pool is sunk.
+     */
+    private static boolean isEnclosed(Biome biome, int x, int y, int z) {
+        IWorldReader region = SurfaceRegion.get();
+        if (region == null) {
+            return false;
+        }
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        return region.getBiome(mutable.set(x - 1, y, z)) == biome
+                && region.getBiome(mutable.set(x + 1, y, z)) == biome
+                && region.getBiome(mutable.set(x, y, z - 1)) == biome
+                && region.getBiome(mutable.set(x, y, z + 1)) == biome;
+    }
+
+    private static int applyPerBlock(IChunk chunkIn, int x, int z, int floorHeight, int waterHeight, int topHeight, BlockState topBlock, BlockState defaultFluid, SurfaceBuilderConfig config) {
+        BlockPos.Mutable mutable = SurfaceColumnWriter.columnPos(x, z);
+        BlockState air = AIR.defaultBlockState();
+        BlockState underMaterial = config.getUnderMaterial();
+        int writes = 0;
+        for (int yPos = Math.max(floorHeight, topHeight); yPos >= Math.max(topHeight - UNDER_DEPTH, 0); --yPos) {
+            BlockState state;
+            if (yPos > topHeight) {
+                state = yPos == waterHeight ? defaultFluid : air;
+            } else if (yPos == topHeight) {
+                state = topBlock;
+            } else {
+                state = underMaterial;
+            }
+            chunkIn.setBlockState(mutable.setY(yPos), state, false);
+            writes++;
+        }
+        return writes;
+    }
+}
@@ -1,50 +1,96 @@
 package com.infamous.dungeons_world.world.surfacebuilder;
 
-import com.infamous.dungeons_world.util.OpenSimplex2F;
+import com.infamous.dungeons_world.world.gen.noise.QuartBiomeVolume;
+import com.infamous.dungeons_world.world.gen.noise.TerrainBiomes;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledCounter;
+import com.infamous.dungeons_world.world.gen.profile.ProfiledStage;
+import com.infamous.dungeons_world.world.gen.profile.WorldgenProfiler;
 import com.mojang.serialization.Codec;
 import net.minecraft.block.BlockState;
-import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.BiomeContainer;
+import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraft.world.chunk.IChunk;
 import net.minecraft.world.gen.surfacebuilders.SurfaceBuilder;
 import net.minecraft.world.gen.surfacebuilders.SurfaceBuilderConfig;
 
+import java.lang.ref.WeakReference;
 import java.util.Random;
 
-import static com.infamous.dungeons_world.biomes.ModBiomes.SPIDER_CAVES;
-import static com.infamous.dungeons_world.blocks.ModBlocks.*;
-import static net.minecraft.block.Blocks.AIR;
-
 public class SpiderCavesSurfaceBuilder extends SurfaceBuilder<SurfaceBuilderConfig> {
+    private static final ProfiledStage APPLY_STAGE = WorldgenProfiler.stage("surface/spider_caves");
+    private static final ProfiledCounter SET_BLOCK_STATE_COUNTER = WorldgenProfiler.counter("surface/spider_caves/blocks_written");
+    // The 256 columns of a chunk are built one after another on the same thread, so the biome cells only need to be found once per chunk.
+    private static final ThreadLocal<ChunkVolume> VOLUMES = ThreadLocal.withInitial(ChunkVolume::new);
+
     public SpiderCavesSurfaceBuilder(Codec<SurfaceBuilderConfig> codec) {
         super(codec);
     }
 
-    protected long seed;
-    protected static OpenSimplex2F noiseGen;
-
-    public void setSeed(long seed) {
-        if (this.seed != seed || noiseGen == null) {
-            noiseGen = new OpenSimplex2F(seed);
-            this.seed = seed;
+    public void apply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, SurfaceBuilderConfig config) {
+        long start = APPLY_STAGE.start();
+        try {
+            this.doApply(random, chunkIn, biomeIn, x, z, startHeight, noise, defaultBlock, defaultFluid, seaLevel, seed, config);
+        } finally {
+            APPLY_STAGE.stop(start);
         }
     }
 
+    private void doApply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, SurfaceBuilderConfig config) {
+        QuartBiomeVolume volume = chunkIn instanceof ChunkPrimer ? VOLUMES.get().get(chunkIn) : null;
+        if (volume == null) {
+            SET_BLOCK_STATE_COUNTER.add(applyPerBlock(chunkIn, x, z, startHeight, config));
+            return;
+        }
+        long column = volume.getColumn(x >> 2, z >> 2);
+        if (startHeight < 0) {
+            return;
+        }
+        SurfaceColumnWriter writer = SurfaceColumnWriter.begin(chunkIn, x, z);
+        if (startHeight < 252) {
+            column &= (1L << (startHeight >> 2) + 1) - 1L;
+        }
+        BlockState top = config.getTopMaterial();
+        // Walks the runs of Spider Caves cells from the top of the column down.
+        while (column != 0L) {
+            int highQuart = 63 - Long.numberOfLeadingZeros(column);
+            long below = ~column & ((1L << highQuart) - 1L);
+            int lowQuart = below == 0L ? 0 : 64 - Long.numberOfLeadingZeros(below);
+            writer.replaceNonAir(lowQuart << 2, Math.min((highQuart << 2) + 3, startHeight), top);
+            column &= (1L << lowQuart) - 1L;
+        }
+        SET_BLOCK_STATE_COUNTER.add(writer.finish());
+    }
 
-    public void apply(Random random, IChunk chunkIn, Biome biomeIn, int x, int z, int startHeight, double noise, BlockState defaultBlock, BlockState defaultFluid, int seaLevel, long seed, SurfaceBuilderConfig config) {
-        //setSeed(((ISeedReader) chunkIn.getWorldForge()).getSeed());
-        setSeed(seed);
-
-        BlockPos.Mutable mutable = new BlockPos.Mutable(x, 0, z);
-        mutable.move(Direction.UP, startHeight);
+    private static int applyPerBlock(IChunk chunkIn, int x, int z, int startHeight, SurfaceBuilderConfig config) {
+        int writes = 0;
+        BlockPos.Mutable mutable = SurfaceColumnWriter.columnPos(x, z);
+        BlockState topMaterial = config.getTopMaterial();
         for (int yPos = startHeight; yPos >= 0; --yPos) {
-            if(chunkIn.getWorldForge().getBiome(mutable) == SPIDER_CAVES.get()) {
-                if(!chunkIn.getBlockState(mutable).isAir()) {
-                    chunkIn.setBlockState(mutable, config.getTopMaterial(), false);
+            mutable.setY(yPos);
+            if (TerrainBiomes.isSpiderCaves(chunkIn.getWorldForge().getBiome(mutable))) {
+                if (!chunkIn.getBlockState(mutable).isAir()) {
+                    chunkIn.setBlockState(mutable, topMaterial, false);
+                    writes++;
                 }
             }
-            mutable.move(Direction.DOWN);
+        }
+        return writes;
+    }
+
+    // Only a weak reference to the chunk, the last one of an idle thread would otherwise stay loaded.
+    private static class ChunkVolume {
+        private WeakReference<IChunk> chunk = new WeakReference<>(null);
+        private QuartBiomeVolume volume;
+
+        QuartBiomeVolume get(IChunk chunk) {
+            if (this.chunk.get() != chunk) {
+                BiomeContainer biomes = chunk.getBiomes();
+                this.chunk = new WeakReference<>(chunk);
+                this.volume = biomes == null ? null : QuartBiomeVolume.compute(biomes, TerrainBiomes::isSpiderCaves);
+            }
+            return this.volume;
         }
     }
 }
@@ -0,0 +1,189 @@
+package com.infamous.dungeons_world.world.surfacebuilder;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.IChunk;
+import net.minecraft.world.gen.Heightmap;
+
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Writes one surface column straight into the sections of a {@link ChunkPrimer}.
+ *
+ * Blocks that already hold the wanted state are left alone, which after the noise stage is almost all of the filler below the surface.
+ * Sections that hold nothing but the filler are skipped without reading a single block,
+ * and the heightmaps are updated once per column instead of once per block, unless a write can lower them.
+ * Each column is only ever written by its own surface builder, so what a section looked like when it was first checked
+ * stays true for the columns that have not been built yet.
+ *
+ * Between columns the writer only keeps a weak reference to its chunk, so a thread that goes idle does not keep the last primer alive.
+ * Every {@link #begin} that returns a writer has to be followed by {@link #finish}.
+ */
+public class SurfaceColumnWriter {
+    private static final ThreadLocal<SurfaceColumnWriter> WRITERS = ThreadLocal.withInitial(SurfaceColumnWriter::new);
+
+    private final BlockPos.Mutable pos = new BlockPos.Mutable();
+    private WeakReference<ChunkPrimer> lastChunk = new WeakReference<>(null);
+    private ChunkPrimer chunk;
+    private BlockState fillState;
+    private int checkedSections;
+    private int fillSections;
+    private Heightmap.Type[] heightmapTypes;
+    private final int[] highestY = new int[Heightmap.Type.values().length];
+    private final BlockState[] highestStates = new BlockState[Heightmap.Type.values().length];
+    private int x;
+    private int z;
+    private int writes;
+
+    /**
+     * Starts writing the column at x/z, or returns null when the chunk is not a ChunkPrimer and has to go through setBlockState.
+     */
+    @Nullable
+    public static SurfaceColumnWriter begin(IChunk chunk, int x, int z) {
+        if (!(chunk instanceof ChunkPrimer)) {
+            return null;
+        }
+        SurfaceColumnWriter writer = WRITERS.get();
+        writer.start((ChunkPrimer) chunk, x, z);
+        return writer;
+    }
+
+    /**
+     * A per-thread position at the column x/z, for the block by block fallbacks of chunks that {@link #begin} turns down.
+     * Those never hold a writer at the same time, so they can borrow its position instead of allocating their own.
+     */
+    static BlockPos.Mutable columnPos(int x, int z) {
+        return WRITERS.get().pos.set(x, 0, z);
+    }
+
+    private void start(ChunkPrimer chunk, int x, int z) {
+        if (this.lastChunk.get() != chunk) {
+            this.lastChunk = new WeakReference<>(chunk);
+            this.fillState = null;
+            this.heightmapTypes = chunk.getStatus().heightmapsAfter().toArray(new Heightmap.Type[0]);
+        }
+        this.chunk = chunk;
+        this.x = x;
+        this.z = z;
+        Arrays.fill(this.highestY, -1);
+        this.writes = 0;
+    }
+
+    public void set(int y, BlockState state) {
+        if (y < 0 || y >= 256) {
+            return;
+        }
+        ChunkSection section = this.chunk.getSections()[y >> 4];
+        this.pos.set(this.x, y, this.z);
+        if (section == Chunk.EMPTY_SECTION || state.getLightValue(this.chunk, this.pos) > 0) {
+            // Creating sections and tracking light sources is the primer's business, these are rare enough to hand back to it.
+            if (section != Chunk.EMPTY_SECTION || !state.isAir()) {
+                this.chunk.setBlockState(this.pos, state, false);
+                this.writes++;
+            }
+            return;
+        }
+        int localX = this.x & 15;
+        int localY = y & 15;
+        int localZ = this.z & 15;
+        BlockState existing = section.getBlockState(localX, localY, localZ);
+        if (existing == state) {
+            return;
+        }
+        section.setBlockState(localX, localY, localZ, state, false);
+        this.writes++;
+        for (Heightmap.Type type : this.heightmapTypes) {
+            Predicate<BlockState> counts = type.isOpaque();
+            if (counts.test(state)) {
+                int index = type.ordinal();
+                if (y > this.highestY[index]) {
+                    this.highestY[index] = y;
+                    this.highestStates[index] = state;
+                }
+            } else if (counts.test(existing)) {
+                // This can lower the surface, which only the heightmap itself can rescan for.
+                this.chunk.getOrCreateHeightmapUnprimed(type).update(localX, y, localZ, state);
+            }
+        }
+    }
+
+    /**
+     * Sets every block from toY down to fromY, both inclusive.
+     */
+    public void fill(int fromY, int toY, BlockState state) {
+        int y = Math.min(toY, 255);
+        while (y >= Math.max(fromY, 0)) {
+            int sectionIndex = y >> 4;
+            int stopY = Math.max(fromY, sectionIndex << 4);
+            if (this.isFilledWith(sectionIndex, state)) {
+                y = stopY - 1;
+                continue;
+            }
+            for (; y >= stopY; y--) {
+                this.set(y, state);
+            }
+        }
+    }
+
+    /**
+     * Replaces every block from toY down to fromY that is not air, both inclusive. Sections without any blocks are skipped whole.
+     */
+    public void replaceNonAir(int fromY, int toY, BlockState state) {
+        int y = Math.min(toY, 255);
+        while (y >= Math.max(fromY, 0)) {
+            int sectionIndex = y >> 4;
+            int stopY = Math.max(fromY, sectionIndex << 4);
+            ChunkSection section = this.chunk.getSections()[sectionIndex];
+            if (ChunkSection.isEmpty(section)) {
+                y = stopY - 1;
+                continue;
+            }
+            for (; y >= stopY; y--) {
+                BlockState existing = section.getBlockState(this.x & 15, y & 15, this.z & 15);
+                if (!existing.isAir() && existing != state) {
+                    this.set(y, state);
+                }
+            }
+        }
+    }
+
+    /**
+     * Brings the heightmaps up to date with the column, lets go of the chunk and returns how many blocks it changed.
+     */
+    public int finish() {
+        // Only the highest block each heightmap counts can raise it, everything written below that keeps the surface where it is.
+        // The noise stage already created and primed the worldgen heightmaps.
+        for (Heightmap.Type type : this.heightmapTypes) {
+            int index = type.ordinal();
+            if (this.highestY[index] >= 0) {
+                this.chunk.getOrCreateHeightmapUnprimed(type).update(this.x & 15, this.highestY[index], this.z & 15, this.highestStates[index]);
+                this.highestStates[index] = null;
+            }
+        }
+        this.chunk = null;
+        return this.writes;
+    }
+
+    private boolean isFilledWith(int sectionIndex, BlockState state) {
+        if (this.fillState != state) {
+            this.fillState = state;
+            this.checkedSections = 0;
+            this.fillSections = 0;
+        }
+        int bit = 1 << sectionIndex;
+        if ((this.checkedSections & bit) == 0) {
+            this.checkedSections |= bit;
+            ChunkSection section = this.chunk.getSections()[sectionIndex];
+            if (section != Chunk.EMPTY_SECTION && !section.maybeHas(existing -> existing != state)) {
+                this.fillSections |= bit;
+            }
+        }
+        return (this.fillSections & bit) != 0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.infamous.dungeons_world.world.surfacebuilder;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.block.BlockState;
+
+import java.util.Optional;
+
+/**
+ * One rule of a {@link LayeredSurfaceBuilderConfig}: the layers a column gets when its surface noise lies within [min_noise, max_noise).
+ * A max_noise of 1 includes 1 itself, as no noise lies above it.
+ * With absolute set, the band is matched against the magnitude of the noise, so one rule covers both sides of zero.
+ */
+public class SurfaceLayerRule {
+    public static final Codec<SurfaceLayerRule> CODEC = RecordCodecBuilder.create(builder -> builder.group(
+            Codec.doubleRange(-1.0D, 1.0D).fieldOf("min_noise").orElse(-1.0D).forGetter(rule -> rule.minNoise),
+            Codec.doubleRange(-1.0D, 1.0D).fieldOf("max_noise").orElse(1.0D).forGetter(rule -> rule.maxNoise),
+            Codec.BOOL.fieldOf("absolute").orElse(false).forGetter(rule -> rule.absolute),
+            BlockState.CODEC.fieldOf("top_material").forGetter(rule -> rule.topMaterial),
+            BlockState.CODEC.fieldOf("under_material").forGetter(rule -> rule.underMaterial),
+            BlockState.CODEC.optionalFieldOf("underwater_material").forGetter(rule -> Optional.ofNullable(rule.underwaterMaterial)),
+            Codec.intRange(0, 16).fieldOf("depth").orElse(3).forGetter(rule -> rule.depth),
+            Codec.intRange(-16, 16).fieldOf("height_offset").orElse(0).forGetter(rule -> rule.heightOffset))
+            .apply(builder, (minNoise, maxNoise, absolute, topMaterial, underMaterial, underwaterMaterial, depth, heightOffset) ->
+                    new SurfaceLayerRule(minNoise, maxNoise, absolute, topMaterial, underMaterial, underwaterMaterial.orElse(null), depth, heightOffset)));
+
+    private final double minNoise;
+    private final double maxNoise;
+    private final boolean absolute;
+    private final BlockState topMaterial;
+    private final BlockState underMaterial;
+    private final BlockState underwaterMaterial;
+    private final int depth;
+    private final int heightOffset;
+
+    public SurfaceLayerRule(double minNoise, double maxNoise, boolean absolute, BlockState topMaterial, BlockState underMaterial, BlockState underwaterMaterial, int depth, int heightOffset) {
+        this.minNoise = minNoise;
+        this.maxNoise = maxNoise;
+        this.absolute = absolute;
+        this.topMaterial = topMaterial;
+        this.underMaterial = underMaterial;
+        this.underwaterMaterial = underwaterMaterial;
+        this.depth = depth;
+        this.heightOffset = heightOffset;
+    }
+
+    public boolean matches(double noise) {
+        double value = this.absolute ? Math.abs(noise) : noise;
+        return value >= this.minNoise && (value < this.maxNoise || this.maxNoise >= 1.0D && value >= 1.0D);
+    }
+
+    public BlockState getTopMaterial() {
+        return this.topMaterial;
+    }
+
+    public BlockState getUnderMaterial() {
+        return this.underMaterial;
+    }
+
+    /**
+     * The top material of columns whose surface ends up below sea level, the under material when none is given.
+     */
+    public BlockState getUnderwaterMaterial() {
+        return this.underwaterMaterial != null ? this.underwaterMaterial : this.underMaterial;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public int getHeightOffset() {
+        return this.heightOffset;
+    }
+}
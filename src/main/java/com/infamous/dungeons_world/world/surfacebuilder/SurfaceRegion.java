@@ -0,0 +1,31 @@
+package com.infamous.dungeons_world.world.surfacebuilder;
+
+import net.minecraft.world.IWorldReader;
+
+import javax.annotation.Nullable;
+
+/**
+ * The generation region of the chunk whose surface this thread is building, so a surface builder can look at the biomes
+ * of the columns next to its own, including those across the chunk border.
+ *
+ * It is only set while a noise generator builds a surface and dropped right after, so an idle thread does not keep the region alive.
+ */
+public class SurfaceRegion {
+    private static final ThreadLocal<IWorldReader> REGION = new ThreadLocal<>();
+
+    public static void begin(IWorldReader region) {
+        REGION.set(region);
+    }
+
+    public static void end() {
+        REGION.remove();
+    }
+
+    /**
+     * Returns null outside of a noise generator's surface stage, where nothing is known about the neighbouring columns.
+     */
+    @Nullable
+    public static IWorldReader get() {
+        return REGION.get();
+    }
+}